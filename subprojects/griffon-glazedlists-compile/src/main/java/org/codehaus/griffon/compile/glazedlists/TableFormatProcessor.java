@@ -0,0 +1,504 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.griffon.compile.glazedlists;
+
+import griffon.plugins.glazedlists.GenerateTableFormat;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates the table formats requested by {@link GenerateTableFormat}.
+ *
+ * @author Andres Almiray
+ */
+public class TableFormatProcessor extends AbstractProcessor {
+    private static final String FX_TABLE_FORMAT = "griffon.plugins.glazedlists.javafx.gui.FXTableFormat";
+    private static final String WRITABLE_VALUE = "javafx.beans.value.WritableValue";
+    private static final String PROPERTY_SUFFIX = "Property";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(GenerateTableFormat.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateTableFormat.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@GenerateTableFormat can only be applied to classes");
+                continue;
+            }
+            TypeElement bean = (TypeElement) element;
+            if (!bean.getTypeParameters().isEmpty()) {
+                error(bean, "@GenerateTableFormat can not be applied to generic classes");
+                continue;
+            }
+            if (!isAccessible(bean)) {
+                error(bean, "@GenerateTableFormat can not be applied to private classes");
+                continue;
+            }
+
+            GenerateTableFormat settings = bean.getAnnotation(GenerateTableFormat.class);
+            String[] titles = settings.titles();
+            if (titles.length > 0 && titles.length != settings.columns().length) {
+                error(bean, "@GenerateTableFormat has " + settings.columns().length + " columns but " + titles.length + " titles");
+                continue;
+            }
+
+            List<Column> columns = resolveColumns(bean, settings);
+            if (columns == null) {
+                continue;
+            }
+
+            generate(bean, generatedName(bean, "TableFormat"), columns, settings.writable(), false);
+            if (settings.fx()) {
+                if (processingEnv.getElementUtils().getTypeElement(FX_TABLE_FORMAT) == null) {
+                    error(bean, "@GenerateTableFormat(fx = true) requires " + FX_TABLE_FORMAT + " in the classpath");
+                    continue;
+                }
+                generate(bean, generatedName(bean, "FXTableFormat"), columns, settings.writable(), true);
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private List<Column> resolveColumns(@Nonnull TypeElement bean, @Nonnull GenerateTableFormat settings) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(bean))) {
+            if (method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)) {
+                methods.add(method);
+            }
+        }
+
+        List<Column> columns = new ArrayList<>();
+        boolean valid = true;
+        for (int i = 0; i < settings.columns().length; i++) {
+            String name = settings.columns()[i];
+            String title = settings.titles().length > 0 ? settings.titles()[i] : null;
+
+            ExecutableElement getter = findMethod(methods, "get" + capitalize(name), 0);
+            if (getter == null || getter.getReturnType().getKind() == TypeKind.VOID) {
+                getter = findMethod(methods, "is" + capitalize(name), 0);
+                if (getter != null && getter.getReturnType().getKind() != TypeKind.BOOLEAN) {
+                    getter = null;
+                }
+            }
+            if (getter == null) {
+                error(bean, "Property '" + name + "' has no getter method in class '" + bean.getQualifiedName() + "'");
+                valid = false;
+                continue;
+            }
+
+            ExecutableElement setter = null;
+            for (ExecutableElement method : methods) {
+                if (method.getSimpleName().contentEquals("set" + capitalize(name)) && method.getParameters().size() == 1 &&
+                    processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), getter.getReturnType())) {
+                    setter = method;
+                    break;
+                }
+            }
+
+            ExecutableElement property = null;
+            if (settings.fx()) {
+                String propertyMethod = name.endsWith(PROPERTY_SUFFIX) ? name : name + PROPERTY_SUFFIX;
+                property = findMethod(methods, propertyMethod, 0);
+                if (property == null) {
+                    property = findMethod(methods, "get" + capitalize(propertyMethod), 0);
+                }
+                if (property == null) {
+                    error(bean, "Property '" + name + "' has no " + propertyMethod + "() method in class '" + bean.getQualifiedName() + "'");
+                    valid = false;
+                    continue;
+                }
+            }
+
+            columns.add(new Column(name, title, getter, setter, property));
+        }
+
+        return valid ? columns : null;
+    }
+
+    private void generate(@Nonnull TypeElement bean, @Nonnull String className, @Nonnull List<Column> columns, boolean writable, boolean fx) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(bean).getQualifiedName().toString();
+        String beanType = bean.getQualifiedName().toString();
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, bean);
+            try (Writer writer = file.openWriter()) {
+                PrintWriter out = new PrintWriter(writer);
+                if (!packageName.isEmpty()) {
+                    out.println("package " + packageName + ";");
+                    out.println();
+                }
+                out.println("/**");
+                out.println(" * Table format for {@code " + beanType + "}, generated from its {@code @GenerateTableFormat} annotation.");
+                out.println(" */");
+                out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+                if (fx) {
+                    writeFXTableFormat(out, className, beanType, columns, writable);
+                } else {
+                    writeTableFormat(out, className, beanType, columns, writable);
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            error(bean, "Unable to generate " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private void writeTableFormat(@Nonnull PrintWriter out, @Nonnull String className, @Nonnull String beanType, @Nonnull List<Column> columns, boolean writable) {
+        out.print("public class " + className + " implements ca.odell.glazedlists.gui.AdvancedTableFormat<" + beanType + ">");
+        out.println(writable ? ", ca.odell.glazedlists.gui.WritableTableFormat<" + beanType + "> {" : " {");
+        writeColumnNames(out, columns);
+
+        Set<String> comparators = new LinkedHashSet<>();
+        for (Column column : columns) {
+            TypeMirror type = column.getter.getReturnType();
+            if (isComparable(type)) {
+                comparators.add(type.getKind().isPrimitive() ? boxedTypeName(type) : null);
+            }
+        }
+        for (String comparator : comparators) {
+            writeComparator(out, comparator);
+        }
+        out.println();
+
+        out.println("    @Override");
+        out.println("    public Object getColumnValue(" + beanType + " baseObject, int column) {");
+        out.println("        switch (column) {");
+        for (int i = 0; i < columns.size(); i++) {
+            out.println("            case " + i + ":");
+            out.println("                return baseObject." + columns.get(i).getter.getSimpleName() + "();");
+        }
+        writeDefaultCase(out);
+        out.println("    }");
+        out.println();
+
+        out.println("    @Override");
+        out.println("    public Class getColumnClass(int column) {");
+        out.println("        switch (column) {");
+        for (int i = 0; i < columns.size(); i++) {
+            out.println("            case " + i + ":");
+            out.println("                return " + boxedTypeName(columns.get(i).getter.getReturnType()) + ".class;");
+        }
+        writeDefaultCase(out);
+        out.println("    }");
+        out.println();
+
+        out.println("    @Override");
+        out.println("    public java.util.Comparator getColumnComparator(int column) {");
+        out.println("        switch (column) {");
+        for (int i = 0; i < columns.size(); i++) {
+            out.println("            case " + i + ":");
+            out.println("                return " + comparatorName(columns.get(i).getter.getReturnType()) + ";");
+        }
+        writeDefaultCase(out);
+        out.println("    }");
+
+        if (writable) {
+            out.println();
+            out.println("    @Override");
+            out.println("    public boolean isEditable(" + beanType + " baseObject, int column) {");
+            out.println("        switch (column) {");
+            for (int i = 0; i < columns.size(); i++) {
+                out.println("            case " + i + ":");
+                out.println("                return " + (columns.get(i).setter != null) + ";");
+            }
+            writeDefaultCase(out);
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public " + beanType + " setColumnValue(" + beanType + " baseObject, Object editedValue, int column) {");
+            out.println("        switch (column) {");
+            for (int i = 0; i < columns.size(); i++) {
+                Column column = columns.get(i);
+                if (column.setter == null) {
+                    continue;
+                }
+                TypeMirror propertyType = column.getter.getReturnType();
+                String type = boxedTypeName(propertyType);
+                out.println("            case " + i + ":");
+                String condition = "editedValue instanceof " + type;
+                if (propertyType.getKind().isPrimitive()) {
+                    // unboxing null would fail with a NullPointerException
+                    out.println("                if (editedValue == null) {");
+                    out.println("                    throw new IllegalArgumentException(\"Column " + i + " is of primitive type " + propertyType + " and can not be set to null\");");
+                    out.println("                }");
+                } else {
+                    condition = "editedValue == null || " + condition;
+                }
+                out.println("                baseObject." + column.setter.getSimpleName() + "(" + condition + " ? (" + type + ") editedValue : griffon.util.TypeUtils.convertValue(" + type + ".class, editedValue));");
+                out.println("                return baseObject;");
+            }
+            out.println("            default:");
+            out.println("                throw new IllegalArgumentException(\"Column \" + column + \" is not editable\");");
+            out.println("        }");
+            out.println("    }");
+        }
+        out.println("}");
+    }
+
+    private void writeFXTableFormat(@Nonnull PrintWriter out, @Nonnull String className, @Nonnull String beanType, @Nonnull List<Column> columns, boolean writable) {
+        String format = writable ? "FXWritableTableFormat" : "FXTableFormat";
+        out.println("public class " + className + " implements griffon.plugins.glazedlists.javafx.gui." + format + "<" + beanType + "> {");
+        writeColumnNames(out, columns);
+        out.println();
+
+        out.println("    @Override");
+        out.println("    public Object getColumnValue(" + beanType + " baseObject, int column) {");
+        out.println("        return getColumnObservableValue(baseObject, column);");
+        out.println("    }");
+        out.println();
+
+        out.println("    @Override");
+        out.println("    public javafx.beans.value.ObservableValue<?> getColumnObservableValue(" + beanType + " baseObject, int column) {");
+        out.println("        switch (column) {");
+        for (int i = 0; i < columns.size(); i++) {
+            out.println("            case " + i + ":");
+            out.println("                return baseObject." + columns.get(i).property.getSimpleName() + "();");
+        }
+        writeDefaultCase(out);
+        out.println("    }");
+        out.println();
+
+        out.println("    @Override");
+        out.println("    public griffon.plugins.glazedlists.javafx.gui.TableCellFactory getTableCellFactory(int column) {");
+        out.println("        return griffon.plugins.glazedlists.javafx.gui.TableCellFactory." + (writable ? "DEFAULT_EDITABLE" : "DEFAULT_NON_EDITABLE") + ";");
+        out.println("    }");
+
+        if (writable) {
+            TypeElement writableValue = processingEnv.getElementUtils().getTypeElement(WRITABLE_VALUE);
+            TypeMirror writableType = processingEnv.getTypeUtils().erasure(writableValue.asType());
+
+            out.println();
+            out.println("    @Override");
+            out.println("    public boolean isEditable(" + beanType + " baseObject, int column) {");
+            out.println("        switch (column) {");
+            for (int i = 0; i < columns.size(); i++) {
+                TypeMirror propertyType = processingEnv.getTypeUtils().erasure(columns.get(i).property.getReturnType());
+                out.println("            case " + i + ":");
+                out.println("                return " + processingEnv.getTypeUtils().isAssignable(propertyType, writableType) + ";");
+            }
+            writeDefaultCase(out);
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public " + beanType + " setColumnValue(" + beanType + " baseObject, Object editedValue, int column) {");
+            out.println("        switch (column) {");
+            for (int i = 0; i < columns.size(); i++) {
+                TypeMirror propertyType = processingEnv.getTypeUtils().erasure(columns.get(i).property.getReturnType());
+                if (!processingEnv.getTypeUtils().isAssignable(propertyType, writableType)) {
+                    continue;
+                }
+                out.println("            case " + i + ":");
+                out.println("                ((javafx.beans.value.WritableValue) baseObject." + columns.get(i).property.getSimpleName() + "()).setValue(editedValue);");
+                out.println("                return baseObject;");
+            }
+            out.println("            default:");
+            out.println("                throw new IllegalArgumentException(\"Column \" + column + \" is not editable\");");
+            out.println("        }");
+            out.println("    }");
+        }
+        out.println("}");
+    }
+
+    private static void writeColumnNames(@Nonnull PrintWriter out, @Nonnull List<Column> columns) {
+        out.print("    private static final String[] COLUMN_TITLES = {");
+        for (int i = 0; i < columns.size(); i++) {
+            Column column = columns.get(i);
+            out.print(i > 0 ? ", " : "");
+            out.print(column.title != null ? quote(column.title) : "griffon.util.GriffonNameUtils.getNaturalName(" + quote(column.name) + ")");
+        }
+        out.println("};");
+        out.println();
+
+        out.println("    @Override");
+        out.println("    public int getColumnCount() {");
+        out.println("        return " + columns.size() + ";");
+        out.println("    }");
+        out.println();
+
+        out.println("    @Override");
+        out.println("    public String getColumnName(int column) {");
+        out.println("        return COLUMN_TITLES[column];");
+        out.println("    }");
+    }
+
+    /**
+     * Writes the comparator used by columns of the given primitive wrapper type, which compares
+     * values with the wrapper's {@code compare} method, or the comparator used by columns of any
+     * other comparable type when {@code null}, which sorts {@code null} first.
+     */
+    private static void writeComparator(@Nonnull PrintWriter out, @Nullable String boxedType) {
+        String type = boxedType != null ? boxedType : "Comparable";
+        out.println();
+        out.println("    private static final java.util.Comparator<" + type + "> " + comparatorName(boxedType) + " = new java.util.Comparator<" + type + ">() {");
+        out.println("        @Override");
+        out.println("        public int compare(" + type + " a, " + type + " b) {");
+        if (boxedType != null) {
+            out.println("            return " + boxedType + ".compare(a, b);");
+        } else {
+            out.println("            if (a == b) {");
+            out.println("                return 0;");
+            out.println("            }");
+            out.println("            if (a == null || b == null) {");
+            out.println("                return a == null ? -1 : 1;");
+            out.println("            }");
+            out.println("            return a.compareTo(b);");
+        }
+        out.println("        }");
+        out.println("    };");
+    }
+
+    @Nonnull
+    private static String comparatorName(@Nullable String boxedType) {
+        return boxedType != null ? boxedType.substring(boxedType.lastIndexOf('.') + 1).toUpperCase() + "_ORDER" : "NATURAL_ORDER";
+    }
+
+    @Nonnull
+    private String comparatorName(@Nonnull TypeMirror type) {
+        if (!isComparable(type)) {
+            return "null";
+        }
+        return comparatorName(type.getKind().isPrimitive() ? boxedTypeName(type) : null);
+    }
+
+    private static void writeDefaultCase(@Nonnull PrintWriter out) {
+        out.println("            default:");
+        out.println("                throw new IndexOutOfBoundsException(\"Column \" + column);");
+        out.println("        }");
+    }
+
+    private boolean isComparable(@Nonnull TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        TypeMirror comparable = processingEnv.getTypeUtils().erasure(processingEnv.getElementUtils().getTypeElement(Comparable.class.getName()).asType());
+        return processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type), comparable);
+    }
+
+    @Nonnull
+    private String boxedTypeName(@Nonnull TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind())).getQualifiedName().toString();
+        }
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    @Nullable
+    private static ExecutableElement findMethod(@Nonnull List<ExecutableElement> methods, @Nonnull String name, int parameterCount) {
+        for (ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameterCount) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAccessible(@Nonnull TypeElement type) {
+        for (Element e = type; !(e instanceof PackageElement); e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the name of the class generated for the given bean, nested classes are prefixed
+     * with the names of their enclosing classes.
+     */
+    @Nonnull
+    private static String generatedName(@Nonnull TypeElement bean, @Nonnull String suffix) {
+        StringBuilder name = new StringBuilder(bean.getSimpleName()).append(suffix);
+        for (Element e = bean.getEnclosingElement(); !(e instanceof PackageElement); e = e.getEnclosingElement()) {
+            name.insert(0, e.getSimpleName() + "_");
+        }
+        return name.toString();
+    }
+
+    @Nonnull
+    private static String capitalize(@Nonnull String name) {
+        return name.isEmpty() ? name : Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    @Nonnull
+    private static String quote(@Nonnull String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private void error(@Nonnull Element element, @Nonnull String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class Column {
+        private final String name;
+        private final String title;
+        private final ExecutableElement getter;
+        private final ExecutableElement setter;
+        private final ExecutableElement property;
+
+        private Column(@Nonnull String name, @Nullable String title, @Nonnull ExecutableElement getter, @Nullable ExecutableElement setter, @Nullable ExecutableElement property) {
+            this.name = name;
+            this.title = title;
+            this.getter = getter;
+            this.setter = setter;
+            this.property = property;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.ObservableElementList;
+import ca.odell.glazedlists.event.ListEvent;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link ObservableElementList} that locates changed elements without scanning the list,
+ * and can report several changed elements at once. {@link #elementsChanged(Collection)}
+ * publishes a single event, where calling {@link #elementChanged(Object)} once per element
+ * would notify every listener downstream once per element.
+ * <p>
+ * <p>The positions of every element are kept in an identity map, so reporting a change costs
+ * the same regardless of the size of the list. The map is built on the first change reported.
+ * Inserts and deletes only shift the positions of the elements after them, which are updated on
+ * the next change reported, so changes at the end of the list cost nothing and changes elsewhere
+ * cost a pass over the elements that moved. The map is built again after the source is reordered,
+ * or once it holds more deleted elements than the list holds elements.</p>
+ *
+ * @author Andres Almiray
+ */
+public class BatchObservableElementList<E> extends ObservableElementList<E> {
+    private volatile boolean disposed;
+
+    // the position of every element, an Integer or an int[] for elements found more than once,
+    // null until built or after a reorder; guarded by the write lock
+    private Map<Object, Object> positions;
+    // positions from this index on may have shifted since the map was last updated
+    private int shiftedFrom;
+    // positions deleted or replaced since the map was built
+    private int stalePositions;
+
+    /**
+     * Create a {@link BatchObservableElementList} that observes the elements of the given
+     * <code>source</code> with the given <code>connector</code>.
+     *
+     * @param source    the {@link EventList} whose elements are observed
+     * @param connector installs and uninstalls the listeners of each element
+     */
+    public BatchObservableElementList(@Nonnull EventList<E> source, @Nonnull Connector<? super E> connector) {
+        super(source, connector);
+    }
+
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        if (positions != null && !updatePositions(listChanges)) {
+            positions = null;
+        }
+        listChanges.reset();
+        super.listChanged(listChanges);
+    }
+
+    /**
+     * Records the first position shifted by inserted and deleted elements, and adds the positions
+     * of elements replaced before it. Positions of deleted and replaced elements are left in the map
+     * and skipped when located, until there are more of them than elements in the list.
+     *
+     * @return whether the map is still valid
+     */
+    private boolean updatePositions(@Nonnull ListEvent<E> listChanges) {
+        if (listChanges.isReordering()) {
+            return false;
+        }
+
+        // blocks are sorted by index, so the indices of each block hold in the list after the event
+        while (listChanges.nextBlock()) {
+            int start = listChanges.getBlockStartIndex();
+            int end = listChanges.getBlockEndIndex();
+            int type = listChanges.getType();
+            if (type == ListEvent.INSERT) {
+                shiftedFrom = Math.min(shiftedFrom, start);
+            } else if (type == ListEvent.DELETE) {
+                shiftedFrom = Math.min(shiftedFrom, start);
+                stalePositions += end - start + 1;
+            } else {
+                for (int i = start; i < Math.min(end + 1, shiftedFrom); i++) {
+                    E element = get(i);
+                    Object elementPositions = positions.get(element);
+                    if (!contains(elementPositions, i)) {
+                        positions.put(element, withPosition(elementPositions, i));
+                        stalePositions++;
+                    }
+                }
+            }
+        }
+        return stalePositions <= size();
+    }
+
+    /**
+     * Publishes an event that updates every index holding the given element, matched by
+     * identity. Nothing is published when the element is no longer in the list.
+     *
+     * @param listElement the element whose state has changed
+     */
+    @Override
+    public void elementChanged(Object listElement) {
+        elementsChanged(Collections.singleton(listElement));
+    }
+
+    /**
+     * Publishes a single event that updates every index holding one of the given elements.
+     * Elements are matched by identity, like {@link #elementChanged(Object)} does. Elements
+     * that are no longer in the list are ignored.
+     *
+     * @param listElements the elements whose state has changed
+     */
+    public void elementsChanged(@Nonnull Collection<?> listElements) {
+        requireNonNull(listElements, "Argument 'listElements' must not be null");
+        if (disposed) {
+            throw new IllegalStateException("This list has been disposed and can no longer be used.");
+        }
+        if (!listElements.isEmpty()) {
+            publishUpdates(listElements);
+        }
+    }
+
+    /**
+     * Publishes a single event that updates every index holding one of the given elements, like
+     * {@link #elementsChanged(Collection)} does, along with the names of the properties that changed
+     * for each element. Listeners of the event may query them with {@link ChangedProperties#of(Object)}.
+     *
+     * @param changedProperties the names of the changed properties of each element, a {@code null}
+     *                          value when any property may have changed
+     */
+    public void elementsChanged(@Nonnull final Map<?, ? extends Set<String>> changedProperties) {
+        requireNonNull(changedProperties, "Argument 'changedProperties' must not be null");
+        if (disposed) {
+            throw new IllegalStateException("This list has been disposed and can no longer be used.");
+        }
+        if (!changedProperties.isEmpty()) {
+            ChangedProperties.publish(changedProperties, new Runnable() {
+                @Override
+                public void run() {
+                    publishUpdates(changedProperties.keySet());
+                }
+            });
+        }
+    }
+
+    private void publishUpdates(@Nonnull Collection<?> listElements) {
+        getReadWriteLock().writeLock().lock();
+        try {
+            Map<Object, Object> positions = positions();
+            int size = size();
+            int[] indices = new int[listElements.size()];
+            int count = 0;
+            for (Object element : listElements) {
+                Object elementPositions = positions.get(element);
+                if (elementPositions instanceof Integer) {
+                    int index = (Integer) elementPositions;
+                    if (isAt(element, index, size)) {
+                        if (count == indices.length) {
+                            indices = Arrays.copyOf(indices, indices.length * 2);
+                        }
+                        indices[count++] = index;
+                    }
+                } else if (elementPositions != null) {
+                    for (int index : (int[]) elementPositions) {
+                        if (isAt(element, index, size)) {
+                            if (count == indices.length) {
+                                indices = Arrays.copyOf(indices, indices.length * 2);
+                            }
+                            indices[count++] = index;
+                        }
+                    }
+                }
+            }
+            if (count == 0) {
+                return;
+            }
+
+            Arrays.sort(indices, 0, count);
+            updates.beginEvent();
+            for (int i = 0; i < count; i++) {
+                // the same element may have been given more than once
+                if (i == 0 || indices[i] != indices[i - 1]) {
+                    E element = get(indices[i]);
+                    updates.elementUpdated(indices[i], element, element);
+                }
+            }
+            updates.commitEvent();
+        } finally {
+            getReadWriteLock().writeLock().unlock();
+        }
+    }
+
+    // positions deleted from the end of the list may hold another element, or none at all
+    private boolean isAt(@Nonnull Object element, int index, int size) {
+        return index < size && get(index) == element;
+    }
+
+    @Nonnull
+    private Map<Object, Object> positions() {
+        int size = size();
+        if (positions == null) {
+            Map<Object, Object> map = new IdentityHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                E element = get(i);
+                map.put(element, withPosition(map.get(element), i));
+            }
+            positions = map;
+            stalePositions = 0;
+        } else if (shiftedFrom < size) {
+            // drop the shifted positions of the elements found there first, an element may be found more than once
+            for (int i = shiftedFrom; i < size; i++) {
+                E element = get(i);
+                positions.put(element, positionsBefore(positions.get(element), shiftedFrom));
+            }
+            for (int i = shiftedFrom; i < size; i++) {
+                E element = get(i);
+                positions.put(element, withPosition(positions.get(element), i));
+            }
+        }
+        shiftedFrom = size;
+        return positions;
+    }
+
+    private static Object positionsBefore(Object elementPositions, int index) {
+        if (elementPositions instanceof Integer) {
+            return (Integer) elementPositions < index ? elementPositions : null;
+        } else if (elementPositions != null) {
+            int[] indices = (int[]) elementPositions;
+            int count = 0;
+            for (int position : indices) {
+                if (position < index) {
+                    count++;
+                }
+            }
+            if (count == indices.length) {
+                return indices;
+            } else if (count == 0) {
+                return null;
+            }
+            int[] before = new int[count];
+            count = 0;
+            for (int position : indices) {
+                if (position < index) {
+                    before[count++] = position;
+                }
+            }
+            return count == 1 ? (Object) before[0] : before;
+        }
+        return null;
+    }
+
+    @Nonnull
+    private static Object withPosition(Object elementPositions, int index) {
+        if (elementPositions == null) {
+            return index;
+        } else if (elementPositions instanceof Integer) {
+            int position = (Integer) elementPositions;
+            return position == index ? elementPositions : new int[]{position, index};
+        }
+        int[] indices = (int[]) elementPositions;
+        if (contains(indices, index)) {
+            return indices;
+        }
+        indices = Arrays.copyOf(indices, indices.length + 1);
+        indices[indices.length - 1] = index;
+        return indices;
+    }
+
+    private static boolean contains(Object elementPositions, int index) {
+        if (elementPositions instanceof Integer) {
+            return (Integer) elementPositions == index;
+        } else if (elementPositions != null) {
+            for (int position : (int[]) elementPositions) {
+                if (position == index) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        getReadWriteLock().writeLock().lock();
+        try {
+            positions = null;
+        } finally {
+            getReadWriteLock().writeLock().unlock();
+        }
+        super.dispose();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Tells the listeners of an update event which properties of the updated elements have changed.
+ * A {@code ListEvent} only reports that an element was updated; the names of its changed properties
+ * are published alongside it, for the duration of the event's dispatch on the publishing thread.
+ * Stages of a pipeline that depend on some properties only, such as the sort key of a sorted list
+ * or the cells of a table, may skip the work for updates that did not change them.
+ * <p>
+ * <p>Listeners must treat an element without known changes as entirely changed. That is always the
+ * case for events that were not published by {@link #publish(Map, Runnable)}, and for events that
+ * are delivered later or on another thread, unless the stage that delivers them publishes the
+ * changed properties again.</p>
+ *
+ * @author Andres Almiray
+ */
+public final class ChangedProperties {
+    private static final ThreadLocal<Map<?, ? extends Set<String>>> CURRENT = new ThreadLocal<>();
+
+    private ChangedProperties() {
+
+    }
+
+    /**
+     * Returns the names of the properties of the given element that were changed by the update
+     * being dispatched on the current thread.
+     *
+     * @param element an updated element
+     * @return the names of its changed properties, {@code null} if unknown.
+     */
+    @Nullable
+    public static Set<String> of(@Nonnull Object element) {
+        Map<?, ? extends Set<String>> changes = CURRENT.get();
+        return changes != null ? changes.get(element) : null;
+    }
+
+    /**
+     * Runs the given publication of an event with the given changed properties in scope. Elements
+     * without an entry, or with a {@code null} entry, are reported as entirely changed.
+     *
+     * @param changes     the names of the changed properties of each updated element. Must not be null.
+     * @param publication publishes the update event. Must not be null.
+     */
+    public static void publish(@Nonnull Map<?, ? extends Set<String>> changes, @Nonnull Runnable publication) {
+        requireNonNull(changes, "Argument 'changes' must not be null");
+        requireNonNull(publication, "Argument 'publication' must not be null");
+
+        Map<?, ? extends Set<String>> previous = CURRENT.get();
+        CURRENT.set(changes);
+        try {
+            publication.run();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
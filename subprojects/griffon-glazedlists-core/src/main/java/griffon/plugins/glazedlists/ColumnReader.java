@@ -19,21 +19,22 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Map;
 
-import static griffon.util.GriffonClassUtils.getPropertyValue;
-import static griffon.util.GriffonNameUtils.uncapitalize;
-
 /**
  * @author Andres Almiray
  */
 public interface ColumnReader<E> {
+    /**
+     * Reads the value of the property named after the column, or the value mapped to that name
+     * when the row is a {@code Map}. Getters are resolved once per class and column name.
+     */
     public static final ColumnReader DEFAULT = new ColumnReader() {
         @Nullable
         @Override
         public Object getValue(@Nonnull Object baseObject, @Nonnull String columnName, int columnIndex) {
             if (baseObject instanceof Map) {
-                return ((Map) baseObject).get(uncapitalize(columnName));
+                return ((Map) baseObject).get(PropertyAccessors.propertyName(columnName));
             }
-            return getPropertyValue(baseObject, uncapitalize(columnName));
+            return PropertyAccessors.getPropertyValue(baseObject, columnName);
         }
     };
 
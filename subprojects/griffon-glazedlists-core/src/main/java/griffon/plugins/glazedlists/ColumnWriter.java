@@ -19,20 +19,22 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Map;
 
-import static griffon.util.GriffonClassUtils.setPropertyValue;
-import static griffon.util.GriffonNameUtils.uncapitalize;
-
 /**
  * @author Andres Almiray
  */
 public interface ColumnWriter<E> {
+    /**
+     * Writes the property named after the column, or maps the value to that name when the row
+     * is a {@code Map}. Setters are resolved once per class and column name; values are converted
+     * to the property's type when needed.
+     */
     public static final ColumnWriter DEFAULT = new ColumnWriter() {
         @Override
         public void setValue(@Nonnull Object baseObject, @Nonnull String columnName, int columnIndex, @Nullable Object value) {
             if (baseObject instanceof Map) {
-                ((Map) baseObject).put(uncapitalize(columnName), value);
+                ((Map) baseObject).put(PropertyAccessors.propertyName(columnName), value);
             } else {
-                setPropertyValue(baseObject, uncapitalize(columnName), value);
+                PropertyAccessors.setPropertyValue(baseObject, columnName, value);
             }
         }
     };
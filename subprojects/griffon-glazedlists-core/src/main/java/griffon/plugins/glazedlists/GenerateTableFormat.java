@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates table formats for the annotated bean at compile time. Columns are read and written
+ * with direct calls to the bean's accessors instead of reflection, and sorted with comparators
+ * that match the type of each property.
+ * <p>
+ * <p>A class named {@code <Bean>TableFormat} is generated in the same package as the bean. It
+ * implements {@code AdvancedTableFormat}, and {@code WritableTableFormat} as well when
+ * {@link #writable()} is set, in which case every column that has a setter is editable.
+ * When {@link #fx()} is set a class named {@code <Bean>FXTableFormat} is generated too. It
+ * implements {@code FXTableFormat}, or {@code FXWritableTableFormat} when {@link #writable()}
+ * is set, and reads columns through the bean's {@code <name>Property()} methods.</p>
+ * <p>
+ * <pre>
+ * &#064;GenerateTableFormat(columns = {"name", "lastName", "age"}, writable = true)
+ * public class Person { ... }
+ *
+ * AdvancedTableFormat&lt;Person&gt; format = new PersonTableFormat();
+ * </pre>
+ *
+ * @author Andres Almiray
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateTableFormat {
+    /**
+     * The names of the properties shown as columns, in order.
+     */
+    String[] columns();
+
+    /**
+     * The titles of the columns, in the same order as {@link #columns()}. The natural name of
+     * each property is used when omitted.
+     */
+    String[] titles() default {};
+
+    /**
+     * Whether columns that have a setter are editable.
+     */
+    boolean writable() default false;
+
+    /**
+     * Whether to generate a JavaFX table format as well.
+     */
+    boolean fx() default false;
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ColumnReader} for columns of {@code int} values. A
+ * {@link griffon.plugins.glazedlists.gui.ColumnSortedList} over a
+ * {@link griffon.plugins.glazedlists.gui.DefaultAdvancedTableFormat} sorts the column with
+ * {@link #getIntValue(Object, String, int)}, without boxing values.
+ *
+ * @author Andres Almiray
+ */
+public abstract class IntColumnReader<E> implements ColumnReader<E> {
+    public abstract int getIntValue(@Nonnull E baseObject, @Nonnull String columnName, int columnIndex);
+
+    @Nullable
+    @Override
+    public final Object getValue(@Nonnull E baseObject, @Nonnull String columnName, int columnIndex) {
+        return getIntValue(baseObject, columnName, columnIndex);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists;
+
+import griffon.exceptions.PropertyException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static griffon.util.GriffonClassUtils.getPropertyDescriptor;
+import static griffon.util.GriffonClassUtils.getReadMethod;
+import static griffon.util.GriffonClassUtils.getWriteMethod;
+import static griffon.util.TypeUtils.convertValue;
+import static griffon.util.GriffonNameUtils.uncapitalize;
+
+/**
+ * Property accessors used by {@link ColumnReader#DEFAULT} and {@link ColumnWriter#DEFAULT}, resolved
+ * once per class and column name with the same rules as {@link griffon.util.GriffonClassUtils#getPropertyValue(Object, String)}
+ * and {@link griffon.util.GriffonClassUtils#setPropertyValue(Object, String, Object)}, and cached as
+ * {@link MethodHandle}s.
+ *
+ * @author Andres Almiray
+ */
+final class PropertyAccessors {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ConcurrentMap<String, String> PROPERTY_NAMES = new ConcurrentHashMap<>();
+
+    private static final ClassValue<ConcurrentMap<String, MethodHandle>> GETTERS = new ClassValue<ConcurrentMap<String, MethodHandle>>() {
+        @Override
+        protected ConcurrentMap<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final ClassValue<ConcurrentMap<String, Setter>> SETTERS = new ClassValue<ConcurrentMap<String, Setter>>() {
+        @Override
+        protected ConcurrentMap<String, Setter> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private PropertyAccessors() {
+        // prevent instantiation
+    }
+
+    /**
+     * Returns the name of the property (or {@code Map} key) that matches the given column name.
+     */
+    @Nonnull
+    static String propertyName(@Nonnull String columnName) {
+        String propertyName = PROPERTY_NAMES.get(columnName);
+        if (propertyName == null) {
+            propertyName = uncapitalize(columnName);
+            PROPERTY_NAMES.putIfAbsent(columnName, propertyName);
+        }
+        return propertyName;
+    }
+
+    static Object getPropertyValue(@Nonnull Object bean, @Nonnull String columnName) {
+        ConcurrentMap<String, MethodHandle> getters = GETTERS.get(bean.getClass());
+        MethodHandle getter = getters.get(columnName);
+        if (getter == null) {
+            getter = resolveGetter(bean, propertyName(columnName));
+            getters.putIfAbsent(columnName, getter);
+        }
+
+        try {
+            return (Object) getter.invokeExact(bean);
+        } catch (Throwable t) {
+            throw new PropertyException(bean, propertyName(columnName), t);
+        }
+    }
+
+    static void setPropertyValue(@Nonnull Object bean, @Nonnull String columnName, @Nullable Object value) {
+        ConcurrentMap<String, Setter> setters = SETTERS.get(bean.getClass());
+        Setter setter = setters.get(columnName);
+        if (setter == null) {
+            setter = resolveSetter(bean, propertyName(columnName));
+            setters.putIfAbsent(columnName, setter);
+        }
+
+        Object coerced = setter.coerce(value);
+        try {
+            setter.handle.invokeExact(bean, coerced);
+        } catch (Throwable t) {
+            throw new PropertyException(bean, propertyName(columnName), value, t);
+        }
+    }
+
+    @Nonnull
+    private static MethodHandle resolveGetter(@Nonnull Object bean, @Nonnull String propertyName) {
+        PropertyDescriptor descriptor = resolveDescriptor(bean, propertyName);
+        Method method = getReadMethod(bean.getClass(), descriptor);
+        if (method == null) {
+            throw new PropertyException(bean, propertyName, new NoSuchMethodException("Property '" + propertyName + "' has no getter method in class '" + bean.getClass() + "'"));
+        }
+        return unreflect(bean, propertyName, method).asType(GETTER_TYPE);
+    }
+
+    @Nonnull
+    private static Setter resolveSetter(@Nonnull Object bean, @Nonnull String propertyName) {
+        PropertyDescriptor descriptor = resolveDescriptor(bean, propertyName);
+        Method method = getWriteMethod(bean.getClass(), descriptor);
+        if (method == null) {
+            throw new PropertyException(bean, propertyName, new NoSuchMethodException("Property '" + propertyName + "' has no setter method in class '" + bean.getClass() + "'"));
+        }
+        return new Setter(descriptor.getPropertyType(), unreflect(bean, propertyName, method).asType(SETTER_TYPE));
+    }
+
+    @Nonnull
+    private static PropertyDescriptor resolveDescriptor(@Nonnull Object bean, @Nonnull String propertyName) {
+        PropertyDescriptor descriptor;
+        try {
+            descriptor = getPropertyDescriptor(bean, propertyName);
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new PropertyException(bean, propertyName, e);
+        } catch (InvocationTargetException e) {
+            throw new PropertyException(bean, propertyName, e.getTargetException());
+        }
+        if (descriptor == null) {
+            throw new PropertyException(bean, propertyName, new NoSuchMethodException("Unknown property '" + propertyName + "' on class '" + bean.getClass() + "'"));
+        }
+        return descriptor;
+    }
+
+    @Nonnull
+    private static MethodHandle unreflect(@Nonnull Object bean, @Nonnull String propertyName, @Nonnull Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            // public methods declared by non-public classes
+            try {
+                method.setAccessible(true);
+                return MethodHandles.publicLookup().unreflect(method);
+            } catch (IllegalAccessException | SecurityException e2) {
+                throw new PropertyException(bean, propertyName, e2);
+            }
+        }
+    }
+
+    /**
+     * A setter together with the type of its property. Values that are not instances of that
+     * type, or of its wrapper when primitive, are converted with {@link griffon.util.TypeUtils#convertValue(Class, Object)}.
+     */
+    private static final class Setter {
+        private final Class<?> propertyType;
+        private final Class<?> valueType;
+        private final MethodHandle handle;
+
+        private Setter(@Nonnull Class<?> propertyType, @Nonnull MethodHandle handle) {
+            this.propertyType = propertyType;
+            this.valueType = propertyType.isPrimitive() ? MethodType.methodType(propertyType).wrap().returnType() : propertyType;
+            this.handle = handle;
+        }
+
+        @Nullable
+        private Object coerce(@Nullable Object value) {
+            if (value == null || valueType.isInstance(value)) {
+                return value;
+            }
+            return convertValue(propertyType, value);
+        }
+    }
+}
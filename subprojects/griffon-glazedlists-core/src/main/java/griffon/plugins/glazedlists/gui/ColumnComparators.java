@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.gui;
+
+import javax.annotation.Nonnull;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * Comparators of column values, inferred from the class of a column. Every comparator
+ * sorts {@code null} first and defines a total order, as required by sorting algorithms.
+ *
+ * @author Andres Almiray
+ */
+final class ColumnComparators {
+    /**
+     * Compares values of the same {@code Comparable} class with {@code compareTo}. Values of
+     * different classes are ordered by class name, and values that are not {@code Comparable}
+     * by their {@code String} representation.
+     */
+    static final Comparator<Object> NATURAL = new NullsFirstComparator<Object>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected int compareNonNull(@Nonnull Object o1, @Nonnull Object o2) {
+            Class<?> c1 = o1.getClass();
+            Class<?> c2 = o2.getClass();
+            if (c1 != c2) {
+                return c1.getName().compareTo(c2.getName());
+            }
+            if (o1 instanceof Comparable) {
+                return ((Comparable<Object>) o1).compareTo(o2);
+            }
+            return String.valueOf(o1).compareTo(String.valueOf(o2));
+        }
+    };
+
+    /**
+     * Compares the values of integral {@code Number}s.
+     */
+    static final Comparator<Number> INTEGRAL = new NullsFirstComparator<Number>() {
+        @Override
+        protected int compareNonNull(@Nonnull Number o1, @Nonnull Number o2) {
+            return Long.compare(o1.longValue(), o2.longValue());
+        }
+    };
+
+    /**
+     * Compares the values of floating point {@code Number}s.
+     */
+    static final Comparator<Number> FLOATING_POINT = new NullsFirstComparator<Number>() {
+        @Override
+        protected int compareNonNull(@Nonnull Number o1, @Nonnull Number o2) {
+            return Double.compare(o1.doubleValue(), o2.doubleValue());
+        }
+    };
+
+    /**
+     * Compares {@code Number}s of any class, with {@code compareTo} when both have the same class.
+     */
+    static final Comparator<Number> NUMBER = new NullsFirstComparator<Number>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected int compareNonNull(@Nonnull Number o1, @Nonnull Number o2) {
+            if (o1.getClass() == o2.getClass() && o1 instanceof Comparable) {
+                return ((Comparable<Object>) o1).compareTo(o2);
+            }
+            return Double.compare(o1.doubleValue(), o2.doubleValue());
+        }
+    };
+
+    /**
+     * Compares {@code Date}s by their time in milliseconds, which is consistent across subclasses.
+     */
+    static final Comparator<Date> DATE = new NullsFirstComparator<Date>() {
+        @Override
+        protected int compareNonNull(@Nonnull Date o1, @Nonnull Date o2) {
+            return Long.compare(o1.getTime(), o2.getTime());
+        }
+    };
+
+    /**
+     * Compares the {@code CollationKey}s of strings, as returned by {@link CollatorComparator#collationKey(String)}.
+     */
+    static final Comparator<Object> COLLATION_KEY = new NullsFirstComparator<Object>() {
+        @Override
+        protected int compareNonNull(@Nonnull Object o1, @Nonnull Object o2) {
+            return ((CollationKey) o1).compareTo((CollationKey) o2);
+        }
+    };
+
+    private ColumnComparators() {
+        // prevent instantiation
+    }
+
+    /**
+     * Returns a comparator for the values of a column of the given class.
+     */
+    @Nonnull
+    static Comparator<?> forClass(@Nonnull Class<?> type) {
+        if (type == int.class || type == long.class || type == short.class || type == byte.class ||
+            type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            return INTEGRAL;
+        } else if (type == double.class || type == float.class || type == Double.class || type == Float.class) {
+            return FLOATING_POINT;
+        } else if (Number.class.isAssignableFrom(type)) {
+            return NUMBER;
+        } else if (Date.class.isAssignableFrom(type)) {
+            return DATE;
+        } else if (type == String.class) {
+            return new CollatorComparator(Collator.getInstance());
+        }
+        return NATURAL;
+    }
+
+    private abstract static class NullsFirstComparator<T> implements Comparator<T> {
+        @Override
+        public int compare(T o1, T o2) {
+            if (o1 == o2) {
+                return 0;
+            } else if (o1 == null) {
+                return -1;
+            } else if (o2 == null) {
+                return 1;
+            }
+            return compareNonNull(o1, o2);
+        }
+
+        protected abstract int compareNonNull(@Nonnull T o1, @Nonnull T o2);
+    }
+
+    /**
+     * Compares strings with a {@link Collator}. Lists that cache a sort key per element, such as
+     * a {@link ColumnSortedList}, compute the {@link #collationKey(String) collation key} of each
+     * value once instead, and compare keys with {@link #COLLATION_KEY}.
+     */
+    static final class CollatorComparator extends NullsFirstComparator<String> {
+        private final Collator collator;
+
+        CollatorComparator(@Nonnull Collator collator) {
+            this.collator = collator;
+        }
+
+        @Override
+        protected int compareNonNull(@Nonnull String o1, @Nonnull String o2) {
+            return collator.compare(o1, o2);
+        }
+
+        @Nonnull
+        CollationKey collationKey(@Nonnull String value) {
+            return collator.getCollationKey(value);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.gui;
+
+import javax.annotation.Nullable;
+
+/**
+ * Implemented by table formats whose columns read a single property of the element, which lets
+ * the stages of a pipeline relate the properties reported by {@link griffon.plugins.glazedlists.ChangedProperties}
+ * to columns.
+ *
+ * @author Andres Almiray
+ */
+public interface ColumnProperties {
+    /**
+     * @return the name of the property read by the given column, {@code null} if the column
+     * depends on other state of the element.
+     */
+    @Nullable
+    String getColumnPropertyName(int column);
+}
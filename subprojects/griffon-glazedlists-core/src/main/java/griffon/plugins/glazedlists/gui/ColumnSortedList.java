@@ -0,0 +1,785 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.gui;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.TransformedList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.gui.AdvancedTableFormat;
+import griffon.plugins.glazedlists.ChangedProperties;
+import griffon.plugins.glazedlists.DoubleColumnReader;
+import griffon.plugins.glazedlists.IntColumnReader;
+import griffon.plugins.glazedlists.LongColumnReader;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static ca.odell.glazedlists.event.ListEvent.DELETE;
+import static ca.odell.glazedlists.event.ListEvent.INSERT;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link EventList} that shows the elements of its source sorted by one column of an
+ * {@link AdvancedTableFormat}, compared with the column's comparator.
+ * <p>
+ * <p>Column values are read once per element with {@link AdvancedTableFormat#getColumnValue(Object, int)}
+ * and kept as sort keys next to the element, so sorting again by a column that was sorted before
+ * reads no values at all. The keys of an element are discarded when the source reports it as
+ * updated. Sorting copies the cached keys of the column into an array and runs a stable merge sort
+ * on it, which keeps elements with equal keys in source order; unlike a {@code SortedList}, it does
+ * not rebuild a tree. Inserted and updated elements are moved to their place with a binary search
+ * that breaks ties by source position, so the order never depends on the history of changes.</p>
+ * <p>
+ * <p>Columns of a {@link DefaultAdvancedTableFormat} read by an {@link IntColumnReader},
+ * {@link LongColumnReader} or {@link DoubleColumnReader} with the comparator inferred for their
+ * class are read, cached and sorted as primitive values, without boxing them.</p>
+ * <p>
+ * <p>When the format implements {@link ColumnProperties} and an update publishes the
+ * {@link ChangedProperties} of its elements, only the keys of the columns that read a changed
+ * property are discarded, and elements whose sort key did not change stay in place.</p>
+ * <p>
+ * <p>Like any other {@code EventList}, sorting by another column and reading the list require
+ * holding the list's write and read locks respectively.</p>
+ *
+ * @author Andres Almiray
+ */
+public class ColumnSortedList<E> extends TransformedList<E, E> {
+    /**
+     * The sort column of a list that shows its elements in source order.
+     */
+    public static final int UNSORTED = -1;
+
+    private static final Object NULL_KEY = new Object();
+    // marks the key kept as the primitive key of a row
+    private static final Object PRIMITIVE_KEY = new Object();
+
+    private static final int INSERTION_SORT_RUN = 32;
+
+    private final AdvancedTableFormat<? super E> format;
+    // the format, when it may read columns as primitive values
+    private final DefaultAdvancedTableFormat<? super E> primitiveFormat;
+    // the property read by each column, null when unknown
+    private final String[] columnProperties;
+    private final List<Row<E>> rows = new ArrayList<>();
+    private List<Row<E>> view = rows;
+    // rows from this index on have a stale source index
+    private int staleSourceIndex;
+    // compares the cached keys of the sort column
+    private Comparator<Object> columnComparator;
+    // computes the keys of a sort column of strings compared with a collator
+    private ColumnComparators.CollatorComparator collator;
+    // whether the cached keys of each column are collation keys
+    private final boolean[] collatedColumns;
+    // long.class or double.class when the keys of the sort column are primitive values
+    private Class<?> primitiveType;
+    private Comparator<Row<E>> comparator;
+    private int sortColumn = UNSORTED;
+    private boolean reverse;
+
+    /**
+     * Create a {@link ColumnSortedList} that shows the elements of the given <code>source</code>
+     * in source order, until a sort column is set.
+     *
+     * @param source the {@link EventList} to be sorted
+     * @param format the format that defines the columns, their values and comparators
+     */
+    public ColumnSortedList(@Nonnull EventList<E> source, @Nonnull AdvancedTableFormat<? super E> format) {
+        super(source);
+        this.format = requireNonNull(format, "Argument 'format' must not be null");
+        this.columnProperties = new String[format.getColumnCount()];
+        this.collatedColumns = new boolean[format.getColumnCount()];
+        this.primitiveFormat = format instanceof DefaultAdvancedTableFormat ? (DefaultAdvancedTableFormat<? super E>) format : null;
+        if (format instanceof ColumnProperties) {
+            for (int i = 0; i < columnProperties.length; i++) {
+                columnProperties[i] = ((ColumnProperties) format).getColumnPropertyName(i);
+            }
+        }
+        for (E element : source) {
+            rows.add(new Row<>(element, format.getColumnCount()));
+        }
+        source.addListEventListener(this);
+    }
+
+    public int getSortColumn() {
+        return sortColumn;
+    }
+
+    public boolean isReverse() {
+        return reverse;
+    }
+
+    /**
+     * Sorts the elements in ascending order of the given column.
+     *
+     * @param column the column to sort by, or {@link #UNSORTED} to show elements in source order
+     */
+    public void setSortColumn(int column) {
+        setSortColumn(column, false);
+    }
+
+    /**
+     * Sorts the elements by the given column.
+     *
+     * @param column  the column to sort by, or {@link #UNSORTED} to show elements in source order
+     * @param reverse whether to sort in descending order
+     */
+    public void setSortColumn(int column, boolean reverse) {
+        Comparator<Object> columnComparator = null;
+        ColumnComparators.CollatorComparator collator = null;
+        Class<?> primitiveType = null;
+        Comparator<Row<E>> rowComparator = null;
+        if (column != UNSORTED) {
+            Comparator<?> declared = format.getColumnComparator(column);
+            if (declared == null) {
+                throw new IllegalArgumentException("Column " + column + " has no comparator");
+            }
+            if (declared instanceof ColumnComparators.CollatorComparator) {
+                collator = (ColumnComparators.CollatorComparator) declared;
+                columnComparator = ColumnComparators.COLLATION_KEY;
+            } else {
+                columnComparator = objectComparator(declared);
+            }
+            if (collatedColumns[column] != (collator != null)) {
+                collatedColumns[column] = collator != null;
+                for (Row<E> row : rows) {
+                    row.keys[column] = null;
+                }
+            }
+            if (primitiveFormat != null) {
+                primitiveType = primitiveFormat.getPrimitiveColumnType(column);
+            }
+            if (primitiveType != null) {
+                rowComparator = new PrimitiveRowComparator<>(this, column, primitiveType == double.class);
+            } else {
+                rowComparator = new RowComparator<>(this, columnComparator, column);
+            }
+            if (reverse) {
+                rowComparator = Collections.reverseOrder(rowComparator);
+            }
+        }
+
+        this.sortColumn = column;
+        this.reverse = column != UNSORTED && reverse;
+        this.columnComparator = columnComparator;
+        this.collator = collator;
+        this.primitiveType = primitiveType;
+        this.comparator = rowComparator;
+        updates.beginEvent();
+        sortView();
+        updates.commitEvent();
+    }
+
+    /**
+     * Sorts the view again and publishes the new order as a reorder.
+     */
+    private void sortView() {
+        List<Row<E>> previous = view;
+        for (int i = 0; i < previous.size(); i++) {
+            previous.get(i).index = i;
+        }
+
+        view = sort();
+        if (view.isEmpty()) {
+            return;
+        }
+        int[] reorderMap = new int[view.size()];
+        for (int i = 0; i < reorderMap.length; i++) {
+            reorderMap[i] = view.get(i).index;
+        }
+        updates.reorder(reorderMap);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparator<Object> objectComparator(@Nonnull Comparator<?> comparator) {
+        // column comparators are given the values of their column, whatever their declared type
+        return (Comparator<Object>) comparator;
+    }
+
+    /**
+     * Sorts the rows by the cached keys of the sort column. Keys are copied into an array indexed
+     * by row first, as long or double values when the column uses the comparator inferred for
+     * integral or floating point numbers, so that comparisons don't go through the rows. The keys
+     * of a column of strings compared with a collator are their collation keys, and those of a
+     * column read by a primitive reader are copied as they are.
+     */
+    @Nonnull
+    private List<Row<E>> sort() {
+        if (comparator == null) {
+            return rows;
+        }
+
+        int size = rows.size();
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, indexComparator(size));
+
+        List<Row<E>> sorted = new ArrayList<>(size);
+        for (int i : order) {
+            sorted.add(rows.get(i));
+        }
+        return sorted;
+    }
+
+    @Nonnull
+    private IndexComparator indexComparator(int size) {
+        if (primitiveType == long.class) {
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = primitiveKey(rows.get(i), sortColumn);
+            }
+            return new LongIndexComparator(values, reverse);
+        } else if (primitiveType == double.class) {
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = Double.longBitsToDouble(primitiveKey(rows.get(i), sortColumn));
+            }
+            return new DoubleIndexComparator(values, reverse);
+        }
+
+        Object[] keys = new Object[size];
+        boolean numbers = true;
+        for (int i = 0; i < size; i++) {
+            keys[i] = key(rows.get(i), sortColumn);
+            numbers &= keys[i] instanceof Number;
+        }
+
+        Comparator<?> columnComparator = this.columnComparator;
+        if (numbers && columnComparator == ColumnComparators.INTEGRAL) {
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = ((Number) keys[i]).longValue();
+            }
+            return new LongIndexComparator(values, reverse);
+        } else if (numbers && columnComparator == ColumnComparators.FLOATING_POINT) {
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = ((Number) keys[i]).doubleValue();
+            }
+            return new DoubleIndexComparator(values, reverse);
+        }
+        return new ObjectIndexComparator(keys, this.columnComparator, reverse);
+    }
+
+    /**
+     * A stable merge sort of indices, which sorts runs with an insertion sort first.
+     */
+    private static void mergeSort(@Nonnull int[] indices, @Nonnull IndexComparator comparator) {
+        int size = indices.length;
+        for (int low = 0; low < size; low += INSERTION_SORT_RUN) {
+            int high = Math.min(low + INSERTION_SORT_RUN, size);
+            for (int i = low + 1; i < high; i++) {
+                int index = indices[i];
+                int j = i - 1;
+                while (j >= low && comparator.compare(indices[j], index) > 0) {
+                    indices[j + 1] = indices[j];
+                    j--;
+                }
+                indices[j + 1] = index;
+            }
+        }
+
+        int[] source = indices;
+        int[] target = new int[size];
+        for (int width = INSERTION_SORT_RUN; width < size; width *= 2) {
+            for (int low = 0; low < size; low += 2 * width) {
+                int middle = Math.min(low + width, size);
+                int high = Math.min(low + 2 * width, size);
+                if (middle == high || comparator.compare(source[middle - 1], source[middle]) <= 0) {
+                    System.arraycopy(source, low, target, low, high - low);
+                    continue;
+                }
+                int i = low;
+                int j = middle;
+                for (int k = low; k < high; k++) {
+                    if (j >= high || (i < middle && comparator.compare(source[i], source[j]) <= 0)) {
+                        target[k] = source[i++];
+                    } else {
+                        target[k] = source[j++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != indices) {
+            System.arraycopy(source, 0, indices, 0, size);
+        }
+    }
+
+    private Object key(@Nonnull Row<E> row, int column) {
+        Object key = row.keys[column];
+        if (key == null) {
+            key = format.getColumnValue(row.element, column);
+            if (collator != null && key instanceof String) {
+                key = collator.collationKey((String) key);
+            }
+            row.keys[column] = key == null ? NULL_KEY : key;
+            return key;
+        }
+        return key == NULL_KEY ? null : key;
+    }
+
+    /**
+     * Returns the key of the sort column when it is read as primitive values, the raw bits of
+     * the value for {@code double} values. Rows keep the primitive key of one column at a time.
+     */
+    private long primitiveKey(@Nonnull Row<E> row, int column) {
+        if (row.keys[column] != PRIMITIVE_KEY || row.primitiveColumn != column) {
+            row.primitiveKey = primitiveType == double.class
+                ? Double.doubleToRawLongBits(primitiveFormat.getDoubleColumnValue(row.element, column))
+                : primitiveFormat.getLongColumnValue(row.element, column);
+            row.primitiveColumn = column;
+            row.keys[column] = PRIMITIVE_KEY;
+        }
+        return row.primitiveKey;
+    }
+
+    private void readSortKey(@Nonnull Row<E> row) {
+        if (primitiveType != null) {
+            primitiveKey(row, sortColumn);
+        } else {
+            key(row, sortColumn);
+        }
+    }
+
+    @Override
+    public E get(int index) {
+        return view.get(index).element;
+    }
+
+    @Override
+    public int size() {
+        return view.size();
+    }
+
+    @Override
+    protected int getSourceIndex(int mutationIndex) {
+        if (comparator == null) {
+            return mutationIndex;
+        }
+        updateSourceIndices();
+        return view.get(mutationIndex).sourceIndex;
+    }
+
+    private void updateSourceIndices() {
+        for (int size = rows.size(); staleSourceIndex < size; staleSourceIndex++) {
+            rows.get(staleSourceIndex).sourceIndex = staleSourceIndex;
+        }
+    }
+
+    @Override
+    protected boolean isWritable() {
+        return true;
+    }
+
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        updates.beginEvent(true);
+        if (listChanges.isReordering()) {
+            reorder(listChanges.getReorderMap());
+        } else {
+            int changes = 0;
+            while (listChanges.nextBlock()) {
+                changes += listChanges.getBlockEndIndex() - listChanges.getBlockStartIndex() + 1;
+            }
+            listChanges.reset();
+
+            if (comparator != null && changes > resortThreshold()) {
+                resort(listChanges);
+            } else {
+                update(listChanges);
+            }
+        }
+        updates.commitEvent();
+    }
+
+    /**
+     * Above this number of changes in a single event, sorting the list again costs less than
+     * moving each changed element to its place with a binary search and a shift of the view:
+     * n / log2(n) changes for a list of n elements.
+     */
+    private int resortThreshold() {
+        int size = Math.max(rows.size(), source.size());
+        return size / Math.max(1, 31 - Integer.numberOfLeadingZeros(Math.max(1, size)));
+    }
+
+    private void reorder(@Nonnull int[] reorderMap) {
+        staleSourceIndex = 0;
+        List<Row<E>> previous = new ArrayList<>(rows);
+        for (int i = 0; i < reorderMap.length; i++) {
+            rows.set(i, previous.get(reorderMap[i]));
+        }
+        if (comparator == null) {
+            updates.reorder(reorderMap);
+        } else {
+            // rows with equal keys follow the new source order
+            sortView();
+        }
+    }
+
+    private void update(@Nonnull ListEvent<E> listChanges) {
+        while (listChanges.nextBlock()) {
+            int type = listChanges.getType();
+            int start = listChanges.getBlockStartIndex();
+            int end = listChanges.getBlockEndIndex();
+
+            if (type == INSERT) {
+                List<Row<E>> inserted = new ArrayList<>(end - start + 1);
+                for (int i = start; i <= end; i++) {
+                    inserted.add(new Row<>(source.get(i), format.getColumnCount()));
+                }
+                rows.addAll(start, inserted);
+                staleSourceIndex = Math.min(staleSourceIndex, start);
+                if (comparator == null) {
+                    for (int i = start; i <= end; i++) {
+                        updates.elementInserted(i, rows.get(i).element);
+                    }
+                } else {
+                    for (Row<E> row : inserted) {
+                        int index = insertionIndex(row);
+                        view.add(index, row);
+                        updates.elementInserted(index, row.element);
+                    }
+                }
+            } else if (type == DELETE) {
+                List<Row<E>> deleted = rows.subList(start, end + 1);
+                if (comparator == null) {
+                    for (Row<E> row : deleted) {
+                        updates.elementDeleted(start, row.element);
+                    }
+                } else {
+                    for (Row<E> row : deleted) {
+                        int index = indexOf(row);
+                        view.remove(index);
+                        updates.elementDeleted(index, row.element);
+                    }
+                }
+                deleted.clear();
+                staleSourceIndex = Math.min(staleSourceIndex, start);
+            } else {
+                for (int i = start; i <= end; i++) {
+                    updated(i);
+                }
+            }
+        }
+    }
+
+    private void updated(int sourceIndex) {
+        Row<E> row = rows.get(sourceIndex);
+        E previous = row.element;
+        int index = comparator == null ? sourceIndex : indexOf(row);
+
+        row.element = source.get(sourceIndex);
+        boolean sortKeyChanged = invalidate(row, previous);
+        if (comparator == null || !sortKeyChanged || isSorted(index)) {
+            updates.elementUpdated(index, previous, row.element);
+            return;
+        }
+
+        view.remove(index);
+        updates.elementDeleted(index, previous);
+        int target = insertionIndex(row);
+        view.add(target, row);
+        updates.elementInserted(target, row.element);
+    }
+
+    /**
+     * Applies all changes to the rows and sorts them again, then publishes each deleted, inserted
+     * or moved row as such and each other updated row as an update. Rows that keep their relative
+     * order are those of a longest increasing run of their previous positions in the new view.
+     */
+    private void resort(@Nonnull ListEvent<E> listChanges) {
+        List<Row<E>> previousView = view;
+        for (int i = 0; i < previousView.size(); i++) {
+            previousView.get(i).index = i;
+        }
+
+        // the elements of updated rows before the event
+        Map<Row<E>, E> previousElements = new IdentityHashMap<>();
+        while (listChanges.nextBlock()) {
+            int type = listChanges.getType();
+            int start = listChanges.getBlockStartIndex();
+            int end = listChanges.getBlockEndIndex();
+
+            if (type == INSERT) {
+                List<Row<E>> inserted = new ArrayList<>(end - start + 1);
+                for (int i = start; i <= end; i++) {
+                    Row<E> row = new Row<>(source.get(i), format.getColumnCount());
+                    row.index = -1;
+                    inserted.add(row);
+                }
+                rows.addAll(start, inserted);
+                staleSourceIndex = Math.min(staleSourceIndex, start);
+            } else if (type == DELETE) {
+                rows.subList(start, end + 1).clear();
+                staleSourceIndex = Math.min(staleSourceIndex, start);
+            } else {
+                for (int i = start; i <= end; i++) {
+                    Row<E> row = rows.get(i);
+                    E previous = row.element;
+                    if (row.index >= 0 && !previousElements.containsKey(row)) {
+                        previousElements.put(row, previous);
+                    }
+                    row.element = source.get(i);
+                    invalidate(row, previous);
+                }
+            }
+        }
+
+        view = sort();
+        boolean[] inPlace = inPlace(view, previousView.size());
+        for (int i = previousView.size() - 1; i >= 0; i--) {
+            if (!inPlace[i]) {
+                Row<E> row = previousView.get(i);
+                updates.elementDeleted(i, previousElements.containsKey(row) ? previousElements.get(row) : row.element);
+            }
+        }
+        for (int i = 0; i < view.size(); i++) {
+            Row<E> row = view.get(i);
+            if (row.index < 0 || !inPlace[row.index]) {
+                updates.elementInserted(i, row.element);
+            } else if (previousElements.containsKey(row)) {
+                updates.elementUpdated(i, previousElements.get(row), row.element);
+            }
+        }
+    }
+
+    /**
+     * Returns which of the previous positions of the rows of the given view belong to a longest
+     * increasing run, in view order. Rows that were not in the previous view have a negative position.
+     */
+    @Nonnull
+    private static <E> boolean[] inPlace(@Nonnull List<Row<E>> view, int previousSize) {
+        int size = view.size();
+        // tails[k] is the view index of the smallest tail of the runs of length k + 1
+        int[] tails = new int[size];
+        int[] predecessors = new int[size];
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            int position = view.get(i).index;
+            if (position < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (view.get(tails[middle]).index < position) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            predecessors[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] inPlace = new boolean[previousSize];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = predecessors[i]) {
+            inPlace[view.get(i).index] = true;
+        }
+        return inPlace;
+    }
+
+    /**
+     * Discards the keys of an updated row that may have changed, all of them unless the update
+     * reports the changed properties of the same element.
+     *
+     * @return whether the key of the sort column was discarded
+     */
+    private boolean invalidate(@Nonnull Row<E> row, E previous) {
+        Set<String> changed = row.element == previous ? ChangedProperties.of(previous) : null;
+        if (changed == null) {
+            row.invalidate();
+            return true;
+        }
+
+        boolean sortKeyChanged = false;
+        for (int i = 0; i < row.keys.length; i++) {
+            if (columnProperties[i] == null || changed.contains(columnProperties[i])) {
+                row.keys[i] = null;
+                sortKeyChanged |= i == sortColumn;
+            }
+        }
+        return sortKeyChanged;
+    }
+
+    /**
+     * Compares rows by the key of the sort column, then by source index, which keeps rows with
+     * equal keys in source order like a full sort does. Source indices must be up to date.
+     */
+    private int compare(@Nonnull Row<E> row1, @Nonnull Row<E> row2) {
+        int result = comparator.compare(row1, row2);
+        return result != 0 ? result : Integer.compare(row1.sourceIndex, row2.sourceIndex);
+    }
+
+    /**
+     * Returns the index of the first row in the view that is greater than the given row.
+     */
+    private int insertionIndex(@Nonnull Row<E> row) {
+        updateSourceIndices();
+        readSortKey(row);
+        int low = 0;
+        int high = view.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(view.get(middle), row) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int indexOf(@Nonnull Row<E> row) {
+        int index = insertionIndex(row);
+        if (index == view.size() || view.get(index) != row) {
+            throw new IllegalStateException("Element is missing from the sorted view: " + row.element);
+        }
+        return index;
+    }
+
+    private boolean isSorted(int index) {
+        Row<E> row = view.get(index);
+        readSortKey(row);
+        return (index == 0 || compare(view.get(index - 1), row) < 0) &&
+            (index == view.size() - 1 || compare(row, view.get(index + 1)) < 0);
+    }
+
+    private static final class Row<E> {
+        private E element;
+        private final Object[] keys;
+        // the key of the last column read as primitive values
+        private long primitiveKey;
+        private int primitiveColumn;
+        private int index;
+        private int sourceIndex;
+
+        private Row(E element, int columnCount) {
+            this.element = element;
+            this.keys = new Object[columnCount];
+        }
+
+        private void invalidate() {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = null;
+            }
+        }
+    }
+
+    private static final class RowComparator<E> implements Comparator<Row<E>> {
+        private final ColumnSortedList<E> list;
+        private final Comparator<Object> comparator;
+        private final int column;
+
+        private RowComparator(@Nonnull ColumnSortedList<E> list, @Nonnull Comparator<Object> comparator, int column) {
+            this.list = list;
+            this.comparator = comparator;
+            this.column = column;
+        }
+
+        @Override
+        public int compare(Row<E> o1, Row<E> o2) {
+            return comparator.compare(list.key(o1, column), list.key(o2, column));
+        }
+    }
+
+    private static final class PrimitiveRowComparator<E> implements Comparator<Row<E>> {
+        private final ColumnSortedList<E> list;
+        private final int column;
+        private final boolean floatingPoint;
+
+        private PrimitiveRowComparator(@Nonnull ColumnSortedList<E> list, int column, boolean floatingPoint) {
+            this.list = list;
+            this.column = column;
+            this.floatingPoint = floatingPoint;
+        }
+
+        @Override
+        public int compare(Row<E> o1, Row<E> o2) {
+            long key1 = list.primitiveKey(o1, column);
+            long key2 = list.primitiveKey(o2, column);
+            return floatingPoint ? Double.compare(Double.longBitsToDouble(key1), Double.longBitsToDouble(key2)) : Long.compare(key1, key2);
+        }
+    }
+
+    private abstract static class IndexComparator {
+        protected final boolean reverse;
+
+        protected IndexComparator(boolean reverse) {
+            this.reverse = reverse;
+        }
+
+        protected abstract int compare(int i, int j);
+    }
+
+    private static final class LongIndexComparator extends IndexComparator {
+        private final long[] keys;
+
+        private LongIndexComparator(@Nonnull long[] keys, boolean reverse) {
+            super(reverse);
+            this.keys = keys;
+        }
+
+        @Override
+        protected int compare(int i, int j) {
+            return reverse ? Long.compare(keys[j], keys[i]) : Long.compare(keys[i], keys[j]);
+        }
+    }
+
+    private static final class DoubleIndexComparator extends IndexComparator {
+        private final double[] keys;
+
+        private DoubleIndexComparator(@Nonnull double[] keys, boolean reverse) {
+            super(reverse);
+            this.keys = keys;
+        }
+
+        @Override
+        protected int compare(int i, int j) {
+            return reverse ? Double.compare(keys[j], keys[i]) : Double.compare(keys[i], keys[j]);
+        }
+    }
+
+    private static final class ObjectIndexComparator extends IndexComparator {
+        private final Object[] keys;
+        private final Comparator<Object> comparator;
+
+        private ObjectIndexComparator(@Nonnull Object[] keys, @Nonnull Comparator<Object> comparator, boolean reverse) {
+            super(reverse);
+            this.keys = keys;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected int compare(int i, int j) {
+            return reverse ? comparator.compare(keys[j], keys[i]) : comparator.compare(keys[i], keys[j]);
+        }
+    }
+}
@@ -17,8 +17,12 @@ package griffon.plugins.glazedlists.gui;
 
 import ca.odell.glazedlists.gui.AdvancedTableFormat;
 import griffon.plugins.glazedlists.ColumnReader;
+import griffon.plugins.glazedlists.DoubleColumnReader;
+import griffon.plugins.glazedlists.IntColumnReader;
+import griffon.plugins.glazedlists.LongColumnReader;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -27,19 +31,17 @@ import static griffon.util.GriffonClassUtils.requireState;
 import static java.util.Objects.requireNonNull;
 
 /**
+ * An {@code AdvancedTableFormat} configured by column. Columns read by an {@link IntColumnReader},
+ * {@link LongColumnReader} or {@link DoubleColumnReader} default to the matching wrapper class.
+ * Columns without a comparator get one inferred from their class: numbers and dates are compared
+ * by value, strings with the default locale's {@code Collator}, and any other value by its natural
+ * order. Inferred comparators sort {@code null} first. A {@link ColumnSortedList}
+ * reads and sorts columns of primitive readers without boxing values.
+ *
  * @author Andres Almiray
  */
 public class DefaultAdvancedTableFormat<E> extends DefaultTableFormat<E> implements AdvancedTableFormat<E> {
     private static final Class DEFAULT_CLASS = Object.class;
-    private static final Comparator<Object> DEFAULT_COMPARATOR = new Comparator<Object>() {
-        @Override
-        public int compare(Object o1, Object o2) {
-            if (o1 instanceof Comparable && o2 instanceof Comparable) {
-                return ((Comparable) o1).compareTo(o2);
-            }
-            return -1;
-        }
-    };
 
     private static final String CLASS = "class";
     private static final String COMPARATOR = "comparator";
@@ -54,7 +56,7 @@ public class DefaultAdvancedTableFormat<E> extends DefaultTableFormat<E> impleme
 
         for (int i = 0; i < columnNames.length; i++) {
             columnClasses[i] = DEFAULT_CLASS;
-            columnComparators[i] = DEFAULT_COMPARATOR;
+            columnComparators[i] = ColumnComparators.NATURAL;
         }
     }
 
@@ -79,13 +81,13 @@ public class DefaultAdvancedTableFormat<E> extends DefaultTableFormat<E> impleme
             if (op.containsKey(CLASS) && op.get(CLASS) instanceof Class) {
                 columnClasses[i] = (Class) op.get(CLASS);
             } else {
-                columnClasses[i] = DEFAULT_CLASS;
+                columnClasses[i] = defaultColumnClass(columnReaders[i]);
             }
 
             if (op.containsKey(COMPARATOR) && op.get(COMPARATOR) instanceof Comparator) {
                 columnComparators[i] = (Comparator) op.get(COMPARATOR);
             } else {
-                columnComparators[i] = DEFAULT_COMPARATOR;
+                columnComparators[i] = ColumnComparators.forClass(columnClasses[i]);
             }
 
             i++;
@@ -101,4 +103,50 @@ public class DefaultAdvancedTableFormat<E> extends DefaultTableFormat<E> impleme
     public Comparator getColumnComparator(int column) {
         return columnComparators[column];
     }
+
+    /**
+     * Returns {@code long.class} for columns read by an {@link IntColumnReader} or {@link LongColumnReader},
+     * and {@code double.class} for columns read by a {@link DoubleColumnReader}, when they use the comparator
+     * inferred for their class. Their values may then be read and compared without boxing them.
+     *
+     * @param column the column to check
+     * @return the type of the primitive values of the column, or {@code null} if it has none
+     */
+    @Nullable
+    Class<?> getPrimitiveColumnType(int column) {
+        ColumnReader<?> reader = columnReaders[column];
+        Comparator<?> comparator = columnComparators[column];
+        if ((reader instanceof IntColumnReader || reader instanceof LongColumnReader) && comparator == ColumnComparators.INTEGRAL) {
+            return long.class;
+        } else if (reader instanceof DoubleColumnReader && comparator == ColumnComparators.FLOATING_POINT) {
+            return double.class;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    long getLongColumnValue(@Nonnull E baseObject, int column) {
+        ColumnReader<?> reader = columnReaders[column];
+        if (reader instanceof IntColumnReader) {
+            return ((IntColumnReader<E>) reader).getIntValue(baseObject, columnNames[column], column);
+        }
+        return ((LongColumnReader<E>) reader).getLongValue(baseObject, columnNames[column], column);
+    }
+
+    @SuppressWarnings("unchecked")
+    double getDoubleColumnValue(@Nonnull E baseObject, int column) {
+        return ((DoubleColumnReader<E>) columnReaders[column]).getDoubleValue(baseObject, columnNames[column], column);
+    }
+
+    @Nonnull
+    private static Class<?> defaultColumnClass(@Nonnull ColumnReader<?> reader) {
+        if (reader instanceof IntColumnReader) {
+            return Integer.class;
+        } else if (reader instanceof LongColumnReader) {
+            return Long.class;
+        } else if (reader instanceof DoubleColumnReader) {
+            return Double.class;
+        }
+        return DEFAULT_CLASS;
+    }
 }
@@ -30,21 +30,24 @@ import static java.util.Objects.requireNonNull;
 /**
  * @author Andres Almiray
  */
-public class DefaultTableFormat<E> implements TableFormat<E> {
+public class DefaultTableFormat<E> implements TableFormat<E>, ColumnProperties {
     private static final String ERROR_COLUMN_NAMES_NULL = "Argument 'columnNames' must not be null.";
 
     protected final String[] columnNames;
     protected final String[] columnTitles;
     protected final ColumnReader[] columnReaders;
+    private final String[] columnPropertyNames;
 
     private static final String NAME = "name";
     private static final String TITLE = "title";
     private static final String READER = "reader";
+    private static final String PROPERTY = "property";
 
     public DefaultTableFormat(@Nonnull String[] columnNames) {
         this.columnNames = requireNonNull(columnNames, ERROR_COLUMN_NAMES_NULL);
         this.columnTitles = new String[columnNames.length];
         this.columnReaders = new ColumnReader[columnNames.length];
+        this.columnPropertyNames = new String[columnNames.length];
 
         for (int i = 0; i < columnNames.length; i++) {
             columnTitles[i] = getNaturalName(columnNames[i]);
@@ -56,6 +59,7 @@ public class DefaultTableFormat<E> implements TableFormat<E> {
         this.columnNames = requireNonNull(columnNames, ERROR_COLUMN_NAMES_NULL);
         this.columnTitles = requireNonNull(columnTitles, "Argument 'columnTitles' must not be null.");
         this.columnReaders = requireNonNull(columnReaders, "Argument 'columnReaders' must not be null.");
+        this.columnPropertyNames = new String[columnNames.length];
         requireState(columnNames.length == columnTitles.length,
             "Arguments 'columNames' and 'columnTitles' have different cardinality. " + columnNames.length + " != " + columnTitles.length);
         requireState(columnNames.length == columnReaders.length,
@@ -68,6 +72,7 @@ public class DefaultTableFormat<E> implements TableFormat<E> {
         this.columnNames = new String[options.size()];
         this.columnTitles = new String[options.size()];
         this.columnReaders = new ColumnReader[options.size()];
+        this.columnPropertyNames = new String[options.size()];
 
         int i = 0;
         for (Map<String, Object> op : options) {
@@ -90,6 +95,10 @@ public class DefaultTableFormat<E> implements TableFormat<E> {
                 columnReaders[i] = ColumnReader.DEFAULT;
             }
 
+            if (op.containsKey(PROPERTY) && !isBlank(String.valueOf(op.get(PROPERTY)))) {
+                columnPropertyNames[i] = String.valueOf(op.get(PROPERTY));
+            }
+
             i++;
         }
     }
@@ -109,4 +118,13 @@ public class DefaultTableFormat<E> implements TableFormat<E> {
     public Object getColumnValue(E baseObject, int column) {
         return columnReaders[column].getValue(baseObject, columnNames[column], column);
     }
+
+    /**
+     * Returns the property given by the <tt>property</tt> option of the column, as only the
+     * column's definition knows whether its value depends on other state of the element.
+     */
+    @Override
+    public String getColumnPropertyName(int column) {
+        return columnPropertyNames[column];
+    }
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists
+
+import ca.odell.glazedlists.BasicEventList
+import ca.odell.glazedlists.EventList
+import ca.odell.glazedlists.ObservableElementList
+import ca.odell.glazedlists.SortedList
+import ca.odell.glazedlists.event.ListEvent
+import ca.odell.glazedlists.event.ListEventListener
+import spock.lang.Specification
+
+class BatchObservableElementListSpec extends Specification {
+    private final EventList<Map> source = new BasicEventList<>()
+    private final List<List<Integer>> events = []
+
+    private BatchObservableElementList<Map> observe(EventList<Map> observed = source) {
+        BatchObservableElementList<Map> list = new BatchObservableElementList<>(observed, new UnobservedConnector())
+        list.addListEventListener({ ListEvent e ->
+            List<Integer> event = []
+            while (e.next()) {
+                if (e.type == ListEvent.UPDATE) event << e.index
+            }
+            if (event) events << event
+        } as ListEventListener)
+        list
+    }
+
+    private List<Integer> updated(BatchObservableElementList<Map> list, Map... elements) {
+        events.clear()
+        list.elementsChanged(elements as List)
+        events ? events[0] : []
+    }
+
+    void 'Updates every index of the changed elements in a single event'() {
+        given:
+        Map joe = [name: 'Joe']
+        Map ann = [name: 'Ann']
+        Map bob = [name: 'Bob']
+        source.addAll([joe, ann, bob, joe])
+        BatchObservableElementList<Map> list = observe()
+
+        when:
+        list.elementsChanged([bob, joe, [name: 'Joe']])
+
+        then:
+        events == [[0, 2, 3]]
+    }
+
+    void 'Publishes nothing when no elements changed'() {
+        given:
+        source.add([name: 'Joe'])
+        BatchObservableElementList<Map> list = observe()
+
+        when:
+        list.elementsChanged([])
+
+        then:
+        events == []
+    }
+
+    void 'Locates elements after the source changes'() {
+        given:
+        Map joe = [name: 'Joe']
+        Map ann = [name: 'Ann']
+        Map bob = [name: 'Bob']
+        source.addAll([joe, ann])
+        BatchObservableElementList<Map> list = observe()
+
+        expect:
+        updated(list, ann) == [1]
+
+        when:
+        source.add(0, bob)
+
+        then:
+        updated(list, ann) == [2]
+
+        when:
+        source.remove(joe)
+
+        then:
+        updated(list, ann) == [1]
+
+        when:
+        source.set(0, joe)
+
+        then:
+        updated(list, joe, bob) == [0]
+
+        when:
+        source.set(1, ann)
+
+        then:
+        updated(list, ann) == [1]
+    }
+
+    void 'Locates elements after the source is reordered'() {
+        given:
+        Map joe = [name: 'Joe']
+        Map ann = [name: 'Ann']
+        Map bob = [name: 'Bob']
+        source.addAll([joe, ann, bob])
+        SortedList<Map> sorted = new SortedList<>(source, { a, b -> a.name <=> b.name } as Comparator)
+        BatchObservableElementList<Map> list = observe(sorted)
+
+        expect:
+        updated(list, joe) == [2]
+
+        when:
+        sorted.comparator = { a, b -> b.name <=> a.name } as Comparator
+
+        then:
+        updated(list, joe) == [0]
+    }
+
+    void 'Updates the same indices as a scan of the list'() {
+        given:
+        Random random = new Random(23L)
+        List<Map> elements = (0..<20).collect { [id: it] }
+        source.addAll(elements.subList(0, 10))
+        BatchObservableElementList<Map> list = observe()
+
+        expect:
+        200.times {
+            switch (random.nextInt(4)) {
+                case 0: source.add(random.nextInt(source.size() + 1), elements[random.nextInt(elements.size())]); break
+                case 1: if (source) source.remove(random.nextInt(source.size())); break
+                case 2: if (source) source.set(random.nextInt(source.size()), elements[random.nextInt(elements.size())]); break
+            }
+            Map changed = elements[random.nextInt(elements.size())]
+            assert updated(list, changed) == (0..<source.size()).findAll { source[it].is(changed) }
+        }
+    }
+
+    void 'Keeps the positions of the elements when the source changes at its end'() {
+        given:
+        Map joe = [name: 'Joe']
+        Map ann = [name: 'Ann']
+        Map bob = [name: 'Bob']
+        source.addAll([joe, ann])
+        BatchObservableElementList<Map> list = observe()
+        updated(list, joe)
+        Map positions = list.@positions
+
+        when:
+        source.add(bob)
+        source.add(joe)
+
+        then:
+        updated(list, joe, bob) == [0, 2, 3]
+        list.@positions.is(positions)
+
+        when:
+        source.remove(3)
+        source.remove(2)
+        source.add(ann)
+
+        then:
+        updated(list, joe) == [0]
+        updated(list, bob) == []
+        updated(list, ann) == [1, 2]
+        list.@positions.is(positions)
+
+        when:
+        source.set(2, bob)
+        source.set(2, ann)
+
+        then:
+        updated(list, ann) == [1, 2]
+        list.@positions.is(positions)
+    }
+
+    void 'Shifts the positions of the elements after inserts and deletes in the middle of the list'() {
+        given:
+        Map joe = [name: 'Joe']
+        Map ann = [name: 'Ann']
+        Map bob = [name: 'Bob']
+        Map tim = [name: 'Tim']
+        source.addAll([joe, ann, bob, ann])
+        BatchObservableElementList<Map> list = observe()
+        updated(list, joe)
+        Map positions = list.@positions
+
+        when:
+        source.add(1, tim)
+
+        then:
+        updated(list, joe, ann, bob, tim) == [0, 1, 2, 3, 4]
+        list.@positions.is(positions)
+
+        when:
+        source.remove(2)
+        source.add(0, ann)
+
+        then:
+        updated(list, ann) == [0, 4]
+        updated(list, bob) == [3]
+        updated(list, tim) == [2]
+        list.@positions.is(positions)
+
+        when:
+        source.set(1, bob)
+
+        then:
+        updated(list, joe) == []
+        updated(list, bob) == [1, 3]
+        list.@positions.is(positions)
+    }
+
+    void 'Updates the same indices as a scan of the list when the source changes at its end'() {
+        given:
+        Random random = new Random(31L)
+        List<Map> elements = (0..<10).collect { [id: it] }
+        source.addAll(elements.subList(0, 5))
+        BatchObservableElementList<Map> list = observe()
+
+        expect:
+        200.times {
+            switch (random.nextInt(3)) {
+                case 0: source.add(elements[random.nextInt(elements.size())]); break
+                case 1: if (source) source.remove(source.size() - 1); break
+                case 2: if (source) source.set(random.nextInt(source.size()), elements[random.nextInt(elements.size())]); break
+            }
+            Map changed = elements[random.nextInt(elements.size())]
+            assert updated(list, changed) == (0..<source.size()).findAll { source[it].is(changed) }
+        }
+    }
+
+    void 'Publishes the changed properties of each element with the update'() {
+        given:
+        Map joe = [name: 'Joe']
+        Map ann = [name: 'Ann']
+        source.addAll([joe, ann])
+        BatchObservableElementList<Map> list = observe()
+        List<Set<String>> published = []
+        list.addListEventListener({ ListEvent e ->
+            while (e.next()) {
+                published << ChangedProperties.of(list[e.index])
+            }
+        } as ListEventListener)
+
+        when:
+        IdentityHashMap<Map, Set<String>> changes = new IdentityHashMap<>()
+        changes.put(joe, ['name', 'age'] as Set)
+        changes.put(ann, null)
+        list.elementsChanged(changes)
+
+        then:
+        published == [['name', 'age'] as Set, null]
+        ChangedProperties.of(joe) == null
+    }
+
+    void 'Rejects changes once disposed'() {
+        given:
+        source.add([name: 'Joe'])
+        BatchObservableElementList<Map> list = observe()
+        list.dispose()
+
+        when:
+        list.elementsChanged([source[0]])
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    private static class UnobservedConnector implements ObservableElementList.Connector<Map> {
+        @Override
+        EventListener installListener(Map element) {
+            null
+        }
+
+        @Override
+        void uninstallListener(Map element, EventListener listener) {
+        }
+
+        @Override
+        void setObservableElementList(ObservableElementList<? extends Map> list) {
+        }
+    }
+}
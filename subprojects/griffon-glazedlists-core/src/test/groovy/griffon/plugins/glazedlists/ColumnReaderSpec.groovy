@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists
+
+import griffon.exceptions.PropertyException
+import spock.lang.Specification
+
+class ColumnReaderSpec extends Specification {
+    void 'DEFAULT reads bean properties matching capitalized column names'() {
+        given:
+        Person person = new Person(name: 'Joe', lastName: 'Cool', age: 42)
+
+        expect:
+        ColumnReader.DEFAULT.getValue(person, 'Name', 0) == 'Joe'
+        ColumnReader.DEFAULT.getValue(person, 'LastName', 1) == 'Cool'
+        ColumnReader.DEFAULT.getValue(person, 'Age', 2) == 42
+        ColumnReader.DEFAULT.getValue(person, 'name', 0) == 'Joe'
+    }
+
+    void 'DEFAULT reads Map entries matching capitalized column names'() {
+        given:
+        Map row = [name: 'Joe', lastName: 'Cool']
+
+        expect:
+        ColumnReader.DEFAULT.getValue(row, 'Name', 0) == 'Joe'
+        ColumnReader.DEFAULT.getValue(row, 'LastName', 1) == 'Cool'
+        ColumnReader.DEFAULT.getValue(row, 'Age', 2) == null
+    }
+
+    void 'DEFAULT resolves getters per class'() {
+        given:
+        Person person = new Person(name: 'Joe')
+        Employee employee = new Employee(name: 'Jane')
+
+        expect:
+        ColumnReader.DEFAULT.getValue(person, 'Name', 0) == 'Joe'
+        ColumnReader.DEFAULT.getValue(employee, 'Name', 0) == 'JANE'
+        ColumnReader.DEFAULT.getValue(person, 'Name', 0) == 'Joe'
+    }
+
+    void 'DEFAULT fails on unknown properties'() {
+        when:
+        ColumnReader.DEFAULT.getValue(new Person(), 'Unknown', 0)
+
+        then:
+        thrown(PropertyException)
+    }
+
+    void 'DEFAULT propagates exceptions thrown by getters'() {
+        when:
+        ColumnReader.DEFAULT.getValue(new Person(), 'Broken', 0)
+
+        then:
+        PropertyException e = thrown()
+        e.cause instanceof UnsupportedOperationException
+    }
+
+    static class Person {
+        String name
+        String lastName
+        int age
+
+        String getBroken() {
+            throw new UnsupportedOperationException()
+        }
+    }
+
+    static class Employee extends Person {
+        @Override
+        String getName() {
+            super.getName()?.toUpperCase()
+        }
+    }
+}
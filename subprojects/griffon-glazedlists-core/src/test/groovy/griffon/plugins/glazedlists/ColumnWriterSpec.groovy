@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists
+
+import griffon.exceptions.PropertyException
+import spock.lang.Specification
+
+class ColumnWriterSpec extends Specification {
+    void 'DEFAULT writes bean properties matching capitalized column names'() {
+        given:
+        Person person = new Person()
+
+        when:
+        ColumnWriter.DEFAULT.setValue(person, 'Name', 0, 'Joe')
+        ColumnWriter.DEFAULT.setValue(person, 'LastName', 1, 'Cool')
+        ColumnWriter.DEFAULT.setValue(person, 'Age', 2, 42)
+
+        then:
+        person.name == 'Joe'
+        person.lastName == 'Cool'
+        person.age == 42
+    }
+
+    void 'DEFAULT writes Map entries matching capitalized column names'() {
+        given:
+        Map row = [:]
+
+        when:
+        ColumnWriter.DEFAULT.setValue(row, 'LastName', 1, 'Cool')
+
+        then:
+        row == [lastName: 'Cool']
+    }
+
+    void 'DEFAULT converts numbers to the type of the property'() {
+        given:
+        Person person = new Person()
+
+        when:
+        ColumnWriter.DEFAULT.setValue(person, 'Age', 2, 42L)
+        ColumnWriter.DEFAULT.setValue(person, 'Salary', 3, 1000)
+        ColumnWriter.DEFAULT.setValue(person, 'Name', 0, null)
+
+        then:
+        person.age == 42
+        person.salary == 1000L
+        person.name == null
+    }
+
+    void 'DEFAULT fails on values that cannot be converted'() {
+        when:
+        ColumnWriter.DEFAULT.setValue(new Person(), 'Age', 2, 'forty two')
+
+        then:
+        thrown(PropertyException)
+    }
+
+    void 'DEFAULT fails on read-only properties'() {
+        when:
+        ColumnWriter.DEFAULT.setValue(new Person(), 'Id', 0, '1')
+
+        then:
+        thrown(PropertyException)
+    }
+
+    void 'DEFAULT propagates exceptions thrown by setters'() {
+        when:
+        ColumnWriter.DEFAULT.setValue(new Person(), 'Broken', 0, 'value')
+
+        then:
+        PropertyException e = thrown()
+        e.cause instanceof UnsupportedOperationException
+    }
+
+    static class Person {
+        String name
+        String lastName
+        int age
+        Long salary
+
+        String getId() {
+            '1'
+        }
+
+        void setBroken(String broken) {
+            throw new UnsupportedOperationException()
+        }
+    }
+}
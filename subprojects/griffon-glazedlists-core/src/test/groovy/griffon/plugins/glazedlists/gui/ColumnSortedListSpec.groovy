@@ -0,0 +1,479 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.gui
+
+import ca.odell.glazedlists.BasicEventList
+import ca.odell.glazedlists.EventList
+import ca.odell.glazedlists.GlazedLists
+import ca.odell.glazedlists.ObservableElementList
+import ca.odell.glazedlists.SortedList
+import ca.odell.glazedlists.TransactionList
+import ca.odell.glazedlists.event.ListEvent
+import ca.odell.glazedlists.event.ListEventListener
+import griffon.plugins.glazedlists.BatchObservableElementList
+import griffon.plugins.glazedlists.ColumnReader
+import griffon.plugins.glazedlists.DoubleColumnReader
+import griffon.plugins.glazedlists.LongColumnReader
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.beans.PropertyChangeListener
+import java.beans.PropertyChangeSupport
+import java.text.Collator
+
+class ColumnSortedListSpec extends Specification {
+    private final CountingReader reader = new CountingReader()
+    private final DefaultAdvancedTableFormat<Person> format = new DefaultAdvancedTableFormat<>([
+        [name: 'name', reader: reader],
+        [name: 'age', class: Integer, reader: reader]
+    ])
+
+    void 'Sorts elements by cached column values'() {
+        given:
+        EventList<Person> people = new BasicEventList<>()
+        people.addAll([new Person('Joe', 42), new Person('Ann', 37), new Person('Bob', 51)])
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+
+        expect:
+        sorted*.name == ['Joe', 'Ann', 'Bob']
+        reader.reads == 0
+
+        when:
+        sorted.sortColumn = 0
+
+        then:
+        sorted*.name == ['Ann', 'Bob', 'Joe']
+        reader.reads == 3
+
+        when:
+        sorted.setSortColumn(1, true)
+
+        then:
+        sorted*.age == [51, 42, 37]
+        reader.reads == 6
+
+        when:
+        sorted.sortColumn = 0
+
+        then:
+        sorted*.name == ['Ann', 'Bob', 'Joe']
+        reader.reads == 6
+
+        when:
+        sorted.sortColumn = ColumnSortedList.UNSORTED
+
+        then:
+        sorted*.name == ['Joe', 'Ann', 'Bob']
+    }
+
+    void 'Sorting fires a reorder event'() {
+        given:
+        EventList<Person> people = new BasicEventList<>()
+        people.addAll([new Person('Joe', 42), new Person('Ann', 37), new Person('Bob', 51)])
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+        List<int[]> reorders = []
+        sorted.addListEventListener({ ListEvent e -> if (e.reordering) reorders << e.reorderMap } as ListEventListener)
+
+        when:
+        sorted.sortColumn = 0
+
+        then:
+        reorders*.toList() == [[1, 2, 0]]
+    }
+
+    void 'Keeps elements with equal keys in source order'() {
+        given:
+        EventList<Person> people = new BasicEventList<>()
+        people.addAll([new Person('Joe', 42), new Person('Ann', 42), new Person('Bob', 30), new Person('Tim', 42)])
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+
+        when:
+        sorted.setSortColumn(1, reverse)
+
+        then:
+        sorted*.name == names
+
+        where:
+        reverse | names
+        false   | ['Bob', 'Joe', 'Ann', 'Tim']
+        true    | ['Joe', 'Ann', 'Tim', 'Bob']
+    }
+
+    void 'Reads again the values of updated elements only'() {
+        given:
+        EventList<Person> people = new ObservableElementList<>(new BasicEventList<Person>(), GlazedLists.beanConnector(Person))
+        Person joe = new Person('Joe', 42)
+        people.addAll([joe, new Person('Ann', 37), new Person('Bob', 51)])
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+        sorted.sortColumn = 1
+        int reads = reader.reads
+
+        when:
+        joe.age = 30
+
+        then:
+        sorted*.name == ['Joe', 'Ann', 'Bob']
+        reader.reads - reads == 1
+
+        when:
+        joe.age = 60
+
+        then:
+        sorted*.name == ['Ann', 'Bob', 'Joe']
+        reader.reads - reads == 2
+    }
+
+    void 'Sorts columns of primitive readers by primitive keys, read once per element'() {
+        given:
+        AgeReader ages = new AgeReader()
+        WeightReader weights = new WeightReader()
+        DefaultAdvancedTableFormat<Person> format = new DefaultAdvancedTableFormat<Person>([
+            [name: 'age', reader: ages],
+            [name: 'weight', reader: weights]
+        ])
+        EventList<Person> people = new ObservableElementList<>(new BasicEventList<Person>(), GlazedLists.beanConnector(Person))
+        Person joe = new Person('Joe', 42)
+        people.addAll([joe, new Person('Ann', 37), new Person('Bob', 51)])
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+
+        when:
+        sorted.setSortColumn(0, true)
+
+        then:
+        sorted*.name == ['Bob', 'Joe', 'Ann']
+        ages.reads == 3
+
+        when:
+        joe.age = 60
+
+        then:
+        sorted*.name == ['Joe', 'Bob', 'Ann']
+        ages.reads == 4
+
+        when:
+        sorted.sortColumn = 1
+
+        then:
+        sorted*.name == ['Ann', 'Bob', 'Joe']
+        weights.reads == 3
+    }
+
+    void 'Keeps the keys of columns whose property did not change'() {
+        given:
+        DefaultAdvancedTableFormat<Person> format = new DefaultAdvancedTableFormat<Person>([
+            [name: 'name', reader: reader, property: 'name'],
+            [name: 'age', class: Integer, reader: reader, property: 'age']
+        ])
+        BatchObservableElementList<Person> people = new BatchObservableElementList<>(new BasicEventList<Person>(), GlazedLists.beanConnector(Person))
+        Person joe = new Person('Joe', 42)
+        people.addAll([joe, new Person('Ann', 37), new Person('Bob', 51)])
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+        sorted.sortColumn = 0
+        sorted.sortColumn = 1
+        int reads = reader.reads
+
+        when:
+        joe.@age = 30
+        people.elementsChanged([(joe): ['name'] as Set])
+
+        then:
+        sorted*.name == ['Ann', 'Joe', 'Bob']
+        reader.reads - reads == 0
+
+        when:
+        people.elementsChanged([(joe): ['age'] as Set])
+        sorted.sortColumn = 0
+
+        then:
+        sorted*.name == ['Ann', 'Bob', 'Joe']
+        reader.reads - reads == 2
+
+        when:
+        sorted.sortColumn = 1
+
+        then:
+        sorted*.name == ['Joe', 'Ann', 'Bob']
+        reader.reads - reads == 2
+    }
+
+    @Unroll
+    void 'Keeps elements sorted through inserts, deletes and updates with #count changes'() {
+        given:
+        Random random = new Random(count)
+        TransactionList<Person> people = new TransactionList<>(new BasicEventList<Person>())
+        (0..<100).each { people << new Person("p$it", random.nextInt(50)) }
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+        sorted.sortColumn = 1
+        SortedList<Person> expected = new SortedList<>(people, { a, b -> a.age <=> b.age } as Comparator)
+        List<Person> mirror = new ArrayList<>(sorted)
+        sorted.addListEventListener(new Mirror(mirror))
+
+        when:
+        people.beginEvent(true)
+        count.times {
+            switch (random.nextInt(3)) {
+                case 0: people.add(random.nextInt(people.size() + 1), new Person('new', random.nextInt(50))); break
+                case 1: if (people) people.remove(random.nextInt(people.size())); break
+                default: if (people) people.set(random.nextInt(people.size()), new Person('set', random.nextInt(50)))
+            }
+        }
+        people.commitEvent()
+
+        then:
+        sorted*.age == expected*.age
+        sorted.toList() == people.sort(false, { a, b -> a.age <=> b.age } as Comparator)
+        mirror == sorted
+
+        where:
+        count << [1, 10, 50, 1000]
+    }
+
+    @Unroll
+    void 'Keeps elements with equal keys in source order through changes (reverse: #reverse)'() {
+        given:
+        Random random = new Random(7)
+        EventList<Person> people = new BasicEventList<>()
+        (0..<30).each { people << new Person("p$it", random.nextInt(3)) }
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+        sorted.setSortColumn(1, reverse)
+        Comparator<Person> byAge = reverse ? { a, b -> b.age <=> a.age } as Comparator : { a, b -> a.age <=> b.age } as Comparator
+
+        expect:
+        200.times {
+            switch (random.nextInt(4)) {
+                case 0: people.add(random.nextInt(people.size() + 1), new Person('new', random.nextInt(3))); break
+                case 1: people.remove(random.nextInt(people.size())); break
+                case 2: people.set(random.nextInt(people.size()), new Person('set', random.nextInt(3))); break
+                default: Collections.swap(people, random.nextInt(people.size()), random.nextInt(people.size()))
+            }
+            assert sorted.toList() == people.sort(false, byAge)
+        }
+
+        where:
+        reverse << [false, true]
+    }
+
+    void 'Orders elements with equal keys by their new source order when the source is reordered'() {
+        given:
+        EventList<Person> elements = new BasicEventList<>()
+        elements.addAll([new Person('Joe', 42), new Person('Ann', 42), new Person('Bob', 30)])
+        SortedList<Person> people = new SortedList<>(elements, null)
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+        sorted.sortColumn = 1
+        List<Person> mirror = new ArrayList<>(sorted)
+        sorted.addListEventListener(new Mirror(mirror))
+
+        when:
+        people.comparator = { a, b -> a.name <=> b.name } as Comparator
+
+        then:
+        sorted*.name == ['Bob', 'Ann', 'Joe']
+        mirror == sorted
+    }
+
+    void 'Publishes rows that keep their place as updates when many elements change at once'() {
+        given:
+        TransactionList<Person> people = new TransactionList<>(new BasicEventList<Person>())
+        (0..<100).each { people << new Person("p$it", it) }
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+        sorted.setSortColumn(1, true)
+        List<Integer> types = []
+        sorted.addListEventListener({ ListEvent e ->
+            while (e.next()) types << e.type
+        } as ListEventListener)
+
+        when:
+        people.beginEvent(true)
+        (0..<100).each { people.set(it, new Person("q$it", it == 0 ? 200 : it)) }
+        people.commitEvent()
+
+        then:
+        sorted*.age == [200] + (99..1)
+        types.count { it == ListEvent.UPDATE } == 99
+        types.count { it == ListEvent.DELETE } == 1
+        types.count { it == ListEvent.INSERT } == 1
+    }
+
+    void 'Sorts strings by their collation keys, computed once per element'() {
+        given:
+        DefaultAdvancedTableFormat<Person> format = new DefaultAdvancedTableFormat<>([[name: 'name', class: String, reader: reader]])
+        List<String> names = ['b', 'B', 'a', 'C', '\u00e9', 'e']
+        EventList<Person> people = new BasicEventList<>()
+        people.addAll(names.collect { new Person(it, 0) })
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+
+        when:
+        sorted.sortColumn = 0
+
+        then:
+        sorted*.name == names.sort(false, Collator.instance)
+        reader.reads == names.size()
+
+        when:
+        people.add(new Person('A', 0))
+        sorted.setSortColumn(0, true)
+
+        then:
+        sorted*.name == (names + 'A').sort(false, Collator.instance).reverse()
+        reader.reads == names.size() + 1
+    }
+
+    void 'Source order follows source changes'() {
+        given:
+        EventList<Person> people = new BasicEventList<>()
+        people.addAll([new Person('Joe', 42), new Person('Ann', 37)])
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+
+        when:
+        people.add(1, new Person('Bob', 51))
+        people.remove(0)
+
+        then:
+        sorted*.name == ['Bob', 'Ann']
+    }
+
+    void 'Writes through to the source element at the sorted index'() {
+        given:
+        EventList<Person> people = new BasicEventList<>()
+        people.addAll([new Person('Joe', 42), new Person('Ann', 37), new Person('Bob', 51)])
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+        sorted.sortColumn = 0
+
+        when:
+        sorted.set(0, new Person('Zoe', 20))
+
+        then:
+        people*.name == ['Joe', 'Zoe', 'Bob']
+        sorted*.name == ['Bob', 'Joe', 'Zoe']
+    }
+
+    void 'Writes through to the source after source changes moved its elements'() {
+        given:
+        EventList<Person> people = new BasicEventList<>()
+        people.addAll([new Person('Joe', 42), new Person('Ann', 37), new Person('Bob', 51)])
+        ColumnSortedList<Person> sorted = new ColumnSortedList<>(people, format)
+        sorted.sortColumn = 0
+        sorted.set(0, new Person('Abe', 60))
+
+        when:
+        people.add(0, new Person('Zoe', 20))
+        people.remove(2)
+        sorted.remove(0)
+
+        then:
+        people*.name == ['Zoe', 'Joe']
+        sorted*.name == ['Joe', 'Zoe']
+
+        when:
+        sorted.set(1, new Person('Cid', 33))
+
+        then:
+        people*.name == ['Cid', 'Joe']
+        sorted*.name == ['Cid', 'Joe']
+    }
+
+    void 'Columns without comparator cannot be sorted'() {
+        given:
+        DefaultAdvancedTableFormat<Person> format = new DefaultAdvancedTableFormat<>(
+            ['name'] as String[], ['Name'] as String[], [reader] as ColumnReader[], [String] as Class[], [null] as Comparator[])
+
+        when:
+        new ColumnSortedList<>(new BasicEventList<Person>(), format).sortColumn = 0
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    static class Mirror implements ListEventListener<Person> {
+        private final List<Person> mirror
+
+        Mirror(List<Person> mirror) {
+            this.mirror = mirror
+        }
+
+        @Override
+        void listChanged(ListEvent<Person> event) {
+            while (event.next()) {
+                switch (event.type) {
+                    case ListEvent.INSERT: mirror.add(event.index, event.sourceList.get(event.index)); break
+                    case ListEvent.DELETE: mirror.remove(event.index); break
+                    default: mirror.set(event.index, event.sourceList.get(event.index))
+                }
+            }
+        }
+    }
+
+    static class CountingReader implements ColumnReader {
+        int reads
+
+        @Override
+        Object getValue(Object target, String columnName, int index) {
+            reads++
+            target[columnName]
+        }
+    }
+
+    static class AgeReader extends LongColumnReader<Person> {
+        int reads
+
+        @Override
+        long getLongValue(Person baseObject, String columnName, int columnIndex) {
+            reads++
+            baseObject.age
+        }
+    }
+
+    static class WeightReader extends DoubleColumnReader<Person> {
+        int reads
+
+        @Override
+        double getDoubleValue(Person baseObject, String columnName, int columnIndex) {
+            reads++
+            baseObject.age * 1.5d
+        }
+    }
+
+    static class Person {
+        private final PropertyChangeSupport pcs = new PropertyChangeSupport(this)
+        final String name
+        private int age
+
+        Person(String name, int age) {
+            this.name = name
+            this.age = age
+        }
+
+        int getAge() {
+            age
+        }
+
+        void setAge(int age) {
+            pcs.firePropertyChange('age', this.age, this.age = age)
+        }
+
+        void addPropertyChangeListener(PropertyChangeListener listener) {
+            pcs.addPropertyChangeListener(listener)
+        }
+
+        void removePropertyChangeListener(PropertyChangeListener listener) {
+            pcs.removePropertyChangeListener(listener)
+        }
+
+        String toString() {
+            "$name:$age"
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.gui
+
+import griffon.plugins.glazedlists.DoubleColumnReader
+import griffon.plugins.glazedlists.IntColumnReader
+import griffon.plugins.glazedlists.LongColumnReader
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Timestamp
+import java.text.Collator
+
+class DefaultAdvancedTableFormatSpec extends Specification {
+    void 'Primitive column readers default to typed classes and comparators'() {
+        when:
+        DefaultAdvancedTableFormat<Item> format = new DefaultAdvancedTableFormat<Item>([
+            [name: 'name'],
+            [name: 'quantity', reader: new QuantityReader()],
+            [name: 'timestamp', reader: new TimestampReader()],
+            [name: 'price', reader: new PriceReader()]
+        ])
+
+        then:
+        (0..<4).collect { format.getColumnClass(it) } == [Object, Integer, Long, Double]
+        (0..<4).collect { format.getPrimitiveColumnType(it) } == [null, long, long, double]
+        format.getColumnComparator(1).compare(2, 10) < 0
+        format.getColumnComparator(2).compare(10L, 2L) > 0
+        format.getColumnComparator(3).compare(1.5d, 1.5d) == 0
+        format.getColumnValue(new Item(quantity: 3), 1) == 3
+    }
+
+    void 'Explicit classes and comparators take precedence over primitive column readers'() {
+        given:
+        Comparator reversed = { a, b -> b <=> a } as Comparator
+
+        when:
+        DefaultAdvancedTableFormat<Item> format = new DefaultAdvancedTableFormat<Item>([
+            [name: 'quantity', reader: new QuantityReader(), class: Number, comparator: reversed]
+        ])
+
+        then:
+        format.getColumnClass(0) == Number
+        format.getColumnComparator(0).is(reversed)
+        format.getPrimitiveColumnType(0) == null
+    }
+
+    @Unroll
+    void 'Comparators inferred from #type sort #values'() {
+        given:
+        DefaultAdvancedTableFormat format = new DefaultAdvancedTableFormat([[name: 'value', class: type]])
+
+        expect:
+        values.sort(false, format.getColumnComparator(0)) == expected
+
+        where:
+        type       | values                                             || expected
+        Integer    | [3, null, 1L, 2]                                   || [null, 1L, 2, 3]
+        int        | [3, 1, 2]                                          || [1, 2, 3]
+        Double     | [2.5d, null, -1f, 0.5d]                            || [null, -1f, 0.5d, 2.5d]
+        Number     | [2.5d, 1, 3G, 2.5G]                                || [1, 2.5d, 2.5G, 3G]
+        Date       | [new Timestamp(3L), null, new Date(1L), new Date(2L)] || [null, new Date(1L), new Date(2L), new Timestamp(3L)]
+        Object     | [null, 'b', 2, 'a', 1]                             || [null, 1, 2, 'a', 'b']
+    }
+
+    void 'Strings are sorted with the default Collator'() {
+        given:
+        DefaultAdvancedTableFormat format = new DefaultAdvancedTableFormat([[name: 'value', class: String]])
+        List<String> values = ['b', 'B', null, 'a', 'C', 'é', 'e']
+
+        expect:
+        values.sort(false, format.getColumnComparator(0)) == [null] + (values - [null]).sort(false, Collator.instance)
+    }
+
+    void 'Default comparator defines a total order for mixed values'() {
+        given:
+        DefaultAdvancedTableFormat format = new DefaultAdvancedTableFormat(['value'] as String[])
+        Random random = new Random(0L)
+        List values = (0..<5000).collect {
+            switch (random.nextInt(4)) {
+                case 0: return random.nextInt(100)
+                case 1: return String.valueOf(random.nextInt(100))
+                case 2: return new Object()
+                default: return null
+            }
+        }
+
+        when:
+        Collections.sort(values, format.getColumnComparator(0))
+
+        then:
+        notThrown(Exception)
+        values.takeWhile { it == null }.size() == values.count { it == null }
+    }
+
+    static class Item {
+        String name
+        int quantity
+        long timestamp
+        double price
+    }
+
+    static class QuantityReader extends IntColumnReader<Item> {
+        @Override
+        int getIntValue(Item baseObject, String columnName, int columnIndex) {
+            baseObject.quantity
+        }
+    }
+
+    static class TimestampReader extends LongColumnReader<Item> {
+        @Override
+        long getLongValue(Item baseObject, String columnName, int columnIndex) {
+            baseObject.timestamp
+        }
+    }
+
+    static class PriceReader extends DoubleColumnReader<Item> {
+        @Override
+        double getDoubleValue(Item baseObject, String columnName, int columnIndex) {
+            baseObject.price
+        }
+    }
+}
@@ -77,6 +77,19 @@ class DefaultTableFormatSpec extends Specification {
         }
     }
 
+    void 'Maps columns to the properties given by their options only'() {
+        when:
+        DefaultTableFormat<Person> format = new DefaultTableFormat<Person>([
+            [name: 'name', property: 'name'],
+            [name: 'lastname']
+        ])
+
+        then:
+        format.getColumnPropertyName(0) == 'name'
+        format.getColumnPropertyName(1) == null
+        new DefaultTableFormat<Person>(['name'] as String[]).getColumnPropertyName(0) == null
+    }
+
     static class Person {
         String id
         String name
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.gui
+
+import ca.odell.glazedlists.gui.AdvancedTableFormat
+import ca.odell.glazedlists.gui.WritableTableFormat
+import spock.lang.Specification
+
+class GenerateTableFormatSpec extends Specification {
+    void 'Generated TableFormat describes the annotated columns'() {
+        when:
+        EmployeeTableFormat format = new EmployeeTableFormat()
+
+        then:
+        format instanceof AdvancedTableFormat
+        format instanceof WritableTableFormat
+        format.columnCount == 6
+        (0..<6).collect { format.getColumnName(it) } == ['Id', 'Name', 'Last Name', 'Age', 'Salary', 'Active']
+        (0..<6).collect { format.getColumnClass(it) } == [String, String, String, Integer, Double, Boolean]
+    }
+
+    void 'Generated TableFormat reads columns'() {
+        given:
+        Employee employee = new Employee('1')
+        employee.name = 'Joe'
+        employee.lastName = 'Cool'
+        employee.age = 42
+        employee.salary = 1000d
+        employee.active = true
+
+        when:
+        EmployeeTableFormat format = new EmployeeTableFormat()
+
+        then:
+        (0..<6).collect { format.getColumnValue(employee, it) } == ['1', 'Joe', 'Cool', 42, 1000d, true]
+    }
+
+    void 'Generated TableFormat writes editable columns'() {
+        given:
+        Employee employee = new Employee('1')
+        EmployeeTableFormat format = new EmployeeTableFormat()
+
+        when:
+        format.setColumnValue(employee, 'Joe', 1)
+        format.setColumnValue(employee, 42L, 3)
+        format.setColumnValue(employee, 1000, 4)
+        format.setColumnValue(employee, true, 5)
+
+        then:
+        !format.isEditable(employee, 0)
+        (1..<6).every { format.isEditable(employee, it) }
+        employee.name == 'Joe'
+        employee.age == 42
+        employee.salary == 1000d
+        employee.active
+
+        when:
+        format.setColumnValue(employee, '2', 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    void 'Generated TableFormat rejects null values of primitive columns'() {
+        given:
+        Employee employee = new Employee('1')
+        employee.name = 'Joe'
+        employee.age = 42
+        EmployeeTableFormat format = new EmployeeTableFormat()
+
+        when:
+        format.setColumnValue(employee, null, 1)
+
+        then:
+        employee.name == null
+
+        when:
+        format.setColumnValue(employee, null, 3)
+
+        then:
+        IllegalArgumentException e = thrown()
+        e.message == 'Column 3 is of primitive type int and can not be set to null'
+        employee.age == 42
+    }
+
+    void 'Generated TableFormat compares columns by type'() {
+        given:
+        EmployeeTableFormat format = new EmployeeTableFormat()
+
+        expect:
+        format.getColumnComparator(1).compare(null, 'Joe') < 0
+        format.getColumnComparator(1).compare('Joe', 'Ann') > 0
+        format.getColumnComparator(3).compare(2, 10) < 0
+        format.getColumnComparator(4).compare(1.5d, 1.5d) == 0
+        format.getColumnComparator(5).compare(false, true) < 0
+    }
+}
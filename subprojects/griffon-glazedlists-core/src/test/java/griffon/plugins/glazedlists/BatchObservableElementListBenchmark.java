@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.ObservableElementList;
+
+import java.util.EventListener;
+import java.util.Random;
+
+/**
+ * Reports changes of random elements of a large list, one at a time, to an
+ * {@link ObservableElementList}, which scans the list for every change, and to a
+ * {@link BatchObservableElementList}, which looks the element up in its index.
+ * <p>
+ * Run with {@code java griffon.plugins.glazedlists.BatchObservableElementListBenchmark [rows] [changes]}.
+ */
+public class BatchObservableElementListBenchmark {
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        int changes = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        EventList<Object> source = new BasicEventList<>();
+        for (int i = 0; i < rows; i++) {
+            source.add(new Object());
+        }
+
+        System.out.printf("%-28s %14s%n", "list", "us per change");
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+            run("ObservableElementList", new ObservableElementList<>(source, new UnobservedConnector()), changes, report);
+            run("BatchObservableElementList", new BatchObservableElementList<>(source, new UnobservedConnector()), changes, report);
+        }
+    }
+
+    private static void run(String name, ObservableElementList<Object> list, int changes, boolean report) {
+        Random random = new Random(0L);
+        long start = System.nanoTime();
+        for (int i = 0; i < changes; i++) {
+            list.elementChanged(list.get(random.nextInt(list.size())));
+        }
+        long nanos = System.nanoTime() - start;
+        list.dispose();
+
+        if (report) {
+            System.out.printf("%-28s %14.2f%n", name, nanos / 1e3 / changes);
+        }
+    }
+
+    private static class UnobservedConnector implements ObservableElementList.Connector<Object> {
+        @Override
+        public EventListener installListener(Object element) {
+            return null;
+        }
+
+        @Override
+        public void uninstallListener(Object element, EventListener listener) {
+        }
+
+        @Override
+        public void setObservableElementList(ObservableElementList<?> list) {
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static griffon.util.GriffonClassUtils.getPropertyValue;
+import static griffon.util.GriffonNameUtils.uncapitalize;
+
+/**
+ * Compares the cost of reading cells with {@link ColumnReader#DEFAULT} against the former
+ * implementation, which resolved the property on every read, and against direct getter calls.
+ * <p>
+ * Run with {@code java griffon.plugins.glazedlists.ColumnReaderBenchmark [rows] [rounds]}.
+ */
+public class ColumnReaderBenchmark {
+    private static final String[] COLUMNS = {"Name", "LastName", "Age"};
+
+    // keeps the JIT from discarding reads
+    private static volatile int sink;
+
+    private static final ColumnReader<Object> FORMER = new ColumnReader<Object>() {
+        @Override
+        public Object getValue(Object baseObject, String columnName, int columnIndex) {
+            if (baseObject instanceof Map) {
+                return ((Map) baseObject).get(uncapitalize(columnName));
+            }
+            return getPropertyValue(baseObject, uncapitalize(columnName));
+        }
+    };
+
+    private static final ColumnReader<Person> DIRECT = new ColumnReader<Person>() {
+        @Override
+        public Object getValue(Person baseObject, String columnName, int columnIndex) {
+            switch (columnIndex) {
+                case 0:
+                    return baseObject.getName();
+                case 1:
+                    return baseObject.getLastName();
+                default:
+                    return baseObject.getAge();
+            }
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        List<Person> people = new ArrayList<>();
+        List<Map<String, Object>> maps = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            people.add(new Person("name" + i, "lastName" + i, i));
+            Map<String, Object> map = new HashMap<>();
+            map.put("name", "name" + i);
+            map.put("lastName", "lastName" + i);
+            map.put("age", i);
+            maps.add(map);
+        }
+
+        System.out.printf("%-24s %14s%n", "reader", "ns/cell");
+        for (int warmup = 0; warmup < 2; warmup++) {
+            boolean report = warmup == 1;
+            run("bean, former", FORMER, (List) people, rounds, report);
+            run("bean, DEFAULT", ColumnReader.DEFAULT, (List) people, rounds, report);
+            run("bean, direct getter", (ColumnReader) DIRECT, (List) people, rounds, report);
+            run("map, former", FORMER, (List) maps, rounds, report);
+            run("map, DEFAULT", ColumnReader.DEFAULT, (List) maps, rounds, report);
+        }
+    }
+
+    private static void run(String name, ColumnReader<Object> reader, List<Object> rows, int rounds, boolean report) {
+        int hash = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (Object row : rows) {
+                for (int column = 0; column < COLUMNS.length; column++) {
+                    Object value = reader.getValue(row, COLUMNS[column], column);
+                    hash += value != null ? value.hashCode() : 0;
+                }
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        sink = hash;
+        if (report) {
+            System.out.printf("%-24s %14.1f%n", name, nanos / (double) (rounds * rows.size() * COLUMNS.length));
+        }
+    }
+
+    public static class Person {
+        private final String name;
+        private final String lastName;
+        private final int age;
+
+        public Person(String name, String lastName, int age) {
+            this.name = name;
+            this.lastName = lastName;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+}
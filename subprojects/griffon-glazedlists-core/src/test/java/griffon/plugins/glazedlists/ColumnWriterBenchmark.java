@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists;
+
+import griffon.plugins.glazedlists.gui.DefaultWritableTableFormat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static griffon.util.GriffonClassUtils.setPropertyValue;
+import static griffon.util.GriffonNameUtils.uncapitalize;
+
+/**
+ * Compares the cost of bulk edits made through {@link DefaultWritableTableFormat#setColumnValue(Object, Object, int)}
+ * with {@link ColumnWriter#DEFAULT} against the former implementation, which resolved the property
+ * on every write. The numeric column receives {@code Long} values, which have to be converted.
+ * <p>
+ * Run with {@code java griffon.plugins.glazedlists.ColumnWriterBenchmark [rows] [rounds]}.
+ */
+public class ColumnWriterBenchmark {
+    private static final String[] COLUMNS = {"name", "lastName", "age"};
+
+    private static final ColumnWriter<Object> FORMER = new ColumnWriter<Object>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public void setValue(Object baseObject, String columnName, int columnIndex, Object value) {
+            // like the former implementation, writes to maps of any type
+            if (baseObject instanceof Map) {
+                ((Map<Object, Object>) baseObject).put(uncapitalize(columnName), value);
+            } else {
+                setPropertyValue(baseObject, uncapitalize(columnName), value);
+            }
+        }
+    };
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        List<Object> people = new ArrayList<>();
+        List<Object> maps = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            people.add(new Person());
+            maps.add(new HashMap<String, Object>());
+        }
+        Object[] values = {"name", "lastName", 42L};
+
+        System.out.printf("%-24s %14s%n", "writer", "ns/cell");
+        for (int warmup = 0; warmup < 2; warmup++) {
+            boolean report = warmup == 1;
+            run("bean, former", format(FORMER), people, values, rounds, report);
+            run("bean, DEFAULT", format(ColumnWriter.DEFAULT), people, values, rounds, report);
+            run("map, former", format(FORMER), maps, values, rounds, report);
+            run("map, DEFAULT", format(ColumnWriter.DEFAULT), maps, values, rounds, report);
+        }
+    }
+
+    private static DefaultWritableTableFormat<Object> format(ColumnWriter<?> writer) {
+        List<Map<String, Object>> options = new ArrayList<>();
+        for (String column : COLUMNS) {
+            Map<String, Object> option = new HashMap<>();
+            option.put("name", column);
+            option.put("writer", writer);
+            options.add(option);
+        }
+        return new DefaultWritableTableFormat<>(options);
+    }
+
+    private static void run(String name, DefaultWritableTableFormat<Object> format, List<Object> rows, Object[] values, int rounds, boolean report) {
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (Object row : rows) {
+                for (int column = 0; column < COLUMNS.length; column++) {
+                    format.setColumnValue(row, values[column], column);
+                }
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        if (report) {
+            System.out.printf("%-24s %14.1f%n", name, nanos / (double) (rounds * rows.size() * COLUMNS.length));
+        }
+    }
+
+    public static class Person {
+        private String name;
+        private String lastName;
+        private int age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+}
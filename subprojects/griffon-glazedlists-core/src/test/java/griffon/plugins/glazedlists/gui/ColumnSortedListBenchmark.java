@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.gui;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.SortedList;
+import griffon.plugins.glazedlists.ColumnReader;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Sorts beans read by {@link ColumnReader#DEFAULT} again and again, alternating between two columns,
+ * with a {@link SortedList} that reads column values on every comparison and with a
+ * {@link ColumnSortedList}.
+ * <p>
+ * Run with {@code java griffon.plugins.glazedlists.gui.ColumnSortedListBenchmark [rows] [rounds]}.
+ */
+public class ColumnSortedListBenchmark {
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        Random random = new Random(0L);
+        EventList<Row> source = new BasicEventList<>();
+        for (int i = 0; i < rows; i++) {
+            source.add(new Row("name" + random.nextInt(rows), random.nextLong()));
+        }
+        DefaultAdvancedTableFormat<Row> format = format();
+
+        System.out.printf("%-24s %12s %12s %12s %16s%n", "ms per sort by", "name", "timestamp", "name again", "timestamp again");
+        for (int round = 0; round < rounds; round++) {
+            boolean report = round == rounds - 1;
+            run(new SortedList<>(source, null), new ColumnComparator(format, 0), new ColumnComparator(format, 1), report);
+            run(new ColumnSortedList<>(source, format), report);
+        }
+    }
+
+    private static DefaultAdvancedTableFormat<Row> format() {
+        List<Map<String, Object>> options = new ArrayList<>();
+        Map<String, Object> name = new HashMap<>();
+        name.put("name", "name");
+        options.add(name);
+        Map<String, Object> timestamp = new HashMap<>();
+        timestamp.put("name", "timestamp");
+        timestamp.put("class", Long.class);
+        options.add(timestamp);
+        return new DefaultAdvancedTableFormat<>(options);
+    }
+
+    private static void run(SortedList<Row> sorted, Comparator<Row> first, Comparator<Row> second, boolean report) {
+        long[] nanos = new long[4];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            sorted.setComparator(i % 2 == 0 ? first : second);
+            nanos[i] = System.nanoTime() - start;
+        }
+        sorted.dispose();
+        report("SortedList", nanos, report);
+    }
+
+    private static void run(ColumnSortedList<Row> sorted, boolean report) {
+        long[] nanos = new long[4];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            sorted.setSortColumn(i % 2);
+            nanos[i] = System.nanoTime() - start;
+        }
+        sorted.dispose();
+        report("ColumnSortedList", nanos, report);
+    }
+
+    private static void report(String name, long[] nanos, boolean report) {
+        if (report) {
+            System.out.printf("%-24s %12.1f %12.1f %12.1f %16.1f%n", name, nanos[0] / 1e6, nanos[1] / 1e6, nanos[2] / 1e6, nanos[3] / 1e6);
+        }
+    }
+
+    private static class ColumnComparator implements Comparator<Row> {
+        private final DefaultAdvancedTableFormat<Row> format;
+        private final int column;
+
+        private ColumnComparator(DefaultAdvancedTableFormat<Row> format, int column) {
+            this.format = format;
+            this.column = column;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int compare(Row o1, Row o2) {
+            return format.getColumnComparator(column).compare(format.getColumnValue(o1, column), format.getColumnValue(o2, column));
+        }
+    }
+
+    public static class Row {
+        private final String name;
+        private final long timestamp;
+
+        public Row(String name, long timestamp) {
+            this.name = name;
+            this.timestamp = timestamp;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.gui;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import griffon.plugins.glazedlists.ColumnReader;
+import griffon.plugins.glazedlists.LongColumnReader;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Sorts a list by a {@code long} column with a {@link ColumnSortedList}, reading the column
+ * with a {@link ColumnReader} that boxes values and with a {@link LongColumnReader}, and reports
+ * the time and the memory allocated by the first sort, which reads every value.
+ * <p>
+ * Run with {@code java griffon.plugins.glazedlists.gui.PrimitiveColumnBenchmark [rows] [rounds]}.
+ */
+public class PrimitiveColumnBenchmark {
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Random random = new Random(0L);
+        EventList<Row> source = new BasicEventList<>();
+        for (int i = 0; i < rows; i++) {
+            source.add(new Row(random.nextLong()));
+        }
+
+        ColumnReader<Row> boxed = new ColumnReader<Row>() {
+            @Override
+            public Object getValue(Row baseObject, String columnName, int columnIndex) {
+                return baseObject.timestamp;
+            }
+        };
+        ColumnReader<Row> primitive = new LongColumnReader<Row>() {
+            @Override
+            public long getLongValue(Row baseObject, String columnName, int columnIndex) {
+                return baseObject.timestamp;
+            }
+        };
+
+        System.out.printf("%-24s %12s %16s%n", "reader", "ms/sort", "MB allocated");
+        for (int round = 0; round < rounds; round++) {
+            boolean report = round == rounds - 1;
+            run("ColumnReader", source, format(boxed), report);
+            run("LongColumnReader", source, format(primitive), report);
+        }
+    }
+
+    private static DefaultAdvancedTableFormat<Row> format(ColumnReader<Row> reader) {
+        Map<String, Object> option = new HashMap<>();
+        option.put("name", "timestamp");
+        option.put("class", Long.class);
+        option.put("reader", reader);
+        List<Map<String, Object>> options = new ArrayList<>();
+        options.add(option);
+        return new DefaultAdvancedTableFormat<>(options);
+    }
+
+    private static void run(String name, EventList<Row> source, DefaultAdvancedTableFormat<Row> format, boolean report) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        ColumnSortedList<Row> sorted = new ColumnSortedList<>(source, format);
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        sorted.setSortColumn(0);
+        long nanos = System.nanoTime() - start;
+        allocated = threads.getThreadAllocatedBytes(thread) - allocated;
+        sorted.dispose();
+
+        if (report) {
+            System.out.printf("%-24s %12.1f %16.1f%n", name, nanos / 1e6, allocated / (1024d * 1024d));
+        }
+    }
+
+    private static class Row {
+        private final long timestamp;
+
+        private Row(long timestamp) {
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package griffon.builder.javafx.factory
 
 import ca.odell.glazedlists.EventList
+import griffon.plugins.glazedlists.javafx.ThreadProxyPolicy
 import griffon.plugins.glazedlists.javafx.gui.FXTableFormat
 import griffon.plugins.glazedlists.javafx.models.DefaultTableViewModel
 
@@ -42,9 +43,27 @@ class DefaultTableViewModelFactory extends AbstractModelFactory {
         def source = attributes.remove('source')
         FXTableFormat format = attributes.remove('format')
 
-        boolean wrap = true
+        def wrap = attributes.containsKey('wrap') ? attributes.remove('wrap') : true
+        ThreadProxyPolicy policy = toThreadProxyPolicy(wrap)
+        policy && source instanceof EventList ? eventTableViewModelWithThreadProxyList(source, format, policy) : eventTableViewModel(source, format)
+    }
 
-        if (attributes.containsKey('wrap')) wrap = attributes.remove('wrap') as boolean
-        wrap && source instanceof EventList ? eventTableViewModelWithThreadProxyList(source, format) : eventTableViewModel(source, format)
+    /**
+     * Converts the value of {@code wrap:} into a policy, {@code null} meaning the source
+     * should not be wrapped. Accepts a boolean, a {@link ThreadProxyPolicy} or a Map with
+     * any of the keys {@code perPulse}, {@code maxFlushRate}, {@code maxPendingChanges}
+     * and {@code resetThreshold}.
+     */
+    private static ThreadProxyPolicy toThreadProxyPolicy(wrap) {
+        if (wrap instanceof ThreadProxyPolicy) {
+            return wrap
+        } else if (wrap instanceof Map) {
+            ThreadProxyPolicy policy = wrap.perPulse ? ThreadProxyPolicy.perPulse() : ThreadProxyPolicy.immediate()
+            if (wrap.maxFlushRate) policy = policy.withMaxFlushRate(wrap.maxFlushRate as double)
+            if (wrap.maxPendingChanges) policy = policy.withMaxPendingChanges(wrap.maxPendingChanges as int)
+            if (wrap.resetThreshold) policy = policy.withResetThreshold(wrap.resetThreshold as int)
+            return policy
+        }
+        wrap as boolean ? ThreadProxyPolicy.immediate() : null
     }
 }
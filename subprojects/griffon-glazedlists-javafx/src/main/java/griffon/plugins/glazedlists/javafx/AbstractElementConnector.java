@@ -0,0 +1,315 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx;
+
+import ca.odell.glazedlists.ObservableElementList;
+import griffon.plugins.glazedlists.BatchObservableElementList;
+import griffon.plugins.glazedlists.ChangedProperties;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ObservableValue;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.util.Arrays.binarySearch;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.sort;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Base class of connectors that observe the JavaFX properties of their elements, filtered by
+ * name. It reports changed elements to the {@link ObservableElementList}, either right away or
+ * coalesced according to a {@link ThreadProxyPolicy}.
+ * <p>
+ * <p>By default every property change is reported right away, an element that changes several
+ * properties at once is updated once per property. A connector created with a {@link ThreadProxyPolicy}
+ * coalesces changes instead: changed elements are recorded in a set and reported on the JavaFX
+ * application thread when the policy delivers pending changes, once per element regardless of how
+ * many of its properties changed in the meantime. An {@link ObservableElementList} that is a
+ * {@link BatchObservableElementList} reports all of them in a single event. The reset threshold
+ * of the policy is not used, as there are no structural changes to collapse.</p>
+ * <p>
+ * <p>A {@link BatchObservableElementList} also receives the names of the changed properties of
+ * each element, and publishes them as {@link ChangedProperties} along with its update event. Elements
+ * observed by a listener of their own report no names, as their properties belong to other beans and
+ * their names need not match the names this connector observes.</p>
+ *
+ * @author Andres Almiray
+ */
+public abstract class AbstractElementConnector<T> implements ObservableElementList.Connector<T> {
+    private static final String[] EMPTY_STRING_ARRAY = new String[0];
+    private ObservableElementList<? extends T> list;
+    private final String[] propertyNames;
+    private final ThreadProxyPolicy policy;
+    private final Consumer<Runnable> scheduler;
+    final ElementChangeListener<Object> sharedHandler = new SharedChangeHandler();
+
+    // changed elements that have not been reported yet, with the names of their changed properties
+    // or null when unknown; the following fields are guarded by it
+    private final Map<Object, Set<String>> dirty = new IdentityHashMap<>();
+    private boolean scheduled;
+    private boolean urgent;
+    private int mergedChanges;
+
+    /**
+     * Creates a connector that reports every change of the given properties right away.
+     * All properties are observed when no names are given.
+     *
+     * @param propertyNames the names of the properties to observe. Must not be null.
+     */
+    protected AbstractElementConnector(@Nonnull String[] propertyNames) {
+        this.propertyNames = sortedCopy(propertyNames);
+        this.policy = null;
+        this.scheduler = null;
+    }
+
+    /**
+     * Creates a connector that coalesces the changes of the given properties until the
+     * given policy delivers them. All properties are observed when no names are given.
+     *
+     * @param propertyNames the names of the properties to observe. Must not be null.
+     * @param policy        defines when changed elements are reported. Must not be null.
+     */
+    protected AbstractElementConnector(@Nonnull String[] propertyNames, @Nonnull ThreadProxyPolicy policy) {
+        requireNonNull(policy, "Argument 'policy' must not be null");
+        this.propertyNames = sortedCopy(propertyNames);
+        this.policy = policy;
+        if (policy.isPerPulse()) {
+            PulseTimer pulseTimer = new PulseTimer(policy.getMaxFlushRate(), this::flush);
+            this.scheduler = flush -> pulseTimer.schedule();
+        } else {
+            this.scheduler = flush -> {
+                if (Platform.isFxApplicationThread()) {
+                    flush.run();
+                } else {
+                    Platform.runLater(flush);
+                }
+            };
+        }
+    }
+
+    // visible for testing, the scheduler is handed the flush of pending changes
+    AbstractElementConnector(@Nonnull String[] propertyNames, @Nonnull ThreadProxyPolicy policy, @Nonnull Consumer<Runnable> scheduler) {
+        this.propertyNames = sortedCopy(propertyNames);
+        this.policy = requireNonNull(policy, "Argument 'policy' must not be null");
+        this.scheduler = requireNonNull(scheduler, "Argument 'scheduler' must not be null");
+    }
+
+    @Nonnull
+    private static String[] sortedCopy(@Nonnull String[] propertyNames) {
+        requireNonNull(propertyNames, "Argument 'propertyNames' must not be null");
+        String[] copy = propertyNames.length == 0 ? EMPTY_STRING_ARRAY : copyOf(propertyNames, propertyNames.length);
+        sort(copy);
+        return copy;
+    }
+
+    /**
+     * @return whether the property with the given name is observed by this connector.
+     */
+    protected boolean matches(@Nonnull String propertyName) {
+        return propertyNames.length == 0 || binarySearch(propertyNames, propertyName) > -1;
+    }
+
+    @Override
+    public void setObservableElementList(ObservableElementList<? extends T> list) {
+        this.list = list;
+    }
+
+    /**
+     * Reports a change of the given element, right away or when the policy of this connector
+     * delivers pending changes.
+     *
+     * @param element the element whose state has changed
+     */
+    protected void elementChanged(@Nonnull Object element) {
+        elementChanged(element, null);
+    }
+
+    /**
+     * Reports a change of a property of the given element, right away or when the policy of
+     * this connector delivers pending changes.
+     *
+     * @param element      the element whose state has changed
+     * @param propertyName the name of the changed property, {@code null} if unknown
+     */
+    protected void elementChanged(@Nonnull Object element, @Nullable String propertyName) {
+        if (scheduler == null) {
+            if (propertyName != null && list instanceof BatchObservableElementList) {
+                ((BatchObservableElementList<?>) list).elementsChanged(Collections.singletonMap(element, Collections.singleton(propertyName)));
+            } else {
+                list.elementChanged(element);
+            }
+            return;
+        }
+
+        boolean schedule;
+        boolean flushNow = false;
+        synchronized (dirty) {
+            if (!dirty.containsKey(element)) {
+                dirty.put(element, propertyName != null ? new HashSet<>(Collections.singleton(propertyName)) : null);
+            } else {
+                Set<String> propertyNames = dirty.get(element);
+                if (propertyNames != null) {
+                    if (propertyName != null) {
+                        propertyNames.add(propertyName);
+                    } else {
+                        dirty.put(element, null);
+                    }
+                }
+            }
+            mergedChanges++;
+            schedule = !scheduled;
+            scheduled = true;
+            int maxPendingChanges = policy.getMaxPendingChanges();
+            if (maxPendingChanges > 0 && dirty.size() > maxPendingChanges && !urgent) {
+                urgent = true;
+                flushNow = true;
+            }
+        }
+
+        if (schedule) {
+            scheduler.accept(this::flush);
+        }
+        if (flushNow) {
+            Platform.runLater(this::flush);
+        }
+    }
+
+    /**
+     * Discards the pending change of the given element, if any. Invoked when the element's
+     * listener is uninstalled, as the element is no longer in the list.
+     *
+     * @param element the element that is no longer observed
+     */
+    protected void discardChanges(@Nonnull Object element) {
+        if (scheduler != null) {
+            synchronized (dirty) {
+                dirty.remove(element);
+            }
+        }
+    }
+
+    /**
+     * Reports the elements that changed since the last flush to the observable element list.
+     * Pending changes are flushed automatically according to the policy this connector was
+     * created with, this method does nothing for connectors that report changes right away.
+     * Must be called on the JavaFX application thread.
+     */
+    public void flush() {
+        Map<Object, Set<String>> changes;
+        int merged;
+        synchronized (dirty) {
+            scheduled = false;
+            urgent = false;
+            if (dirty.isEmpty()) {
+                return;
+            }
+            changes = new IdentityHashMap<>(dirty);
+            merged = mergedChanges;
+            dirty.clear();
+            mergedChanges = 0;
+        }
+
+        if (list instanceof BatchObservableElementList) {
+            ((BatchObservableElementList<?>) list).elementsChanged(changes);
+        } else {
+            for (Object element : changes.keySet()) {
+                list.elementChanged(element);
+            }
+        }
+
+        ThreadProxyPolicy.FlushListener flushListener = policy.getFlushListener();
+        if (flushListener != null) {
+            flushListener.flushed(merged, false);
+        }
+    }
+
+    /**
+     * Reports whether the given property can be observed by the listener shared by all elements,
+     * that is, whether it reports the given element as its bean.
+     */
+    static boolean isSharedBy(@Nonnull ObservableValue<?> value, @Nonnull Object element) {
+        return value instanceof ReadOnlyProperty && ((ReadOnlyProperty<?>) value).getBean() == element;
+    }
+
+    @Nullable
+    private static String nameOf(@Nonnull ReadOnlyProperty<?> property) {
+        String name = property.getName();
+        return name == null || name.isEmpty() ? null : name;
+    }
+
+    /**
+     * Creates a listener shared by all elements that reports changes of their property with the
+     * given name, for properties whose own name may differ.
+     */
+    @Nonnull
+    ElementChangeListener<Object> newSharedHandler(@Nonnull String propertyName) {
+        return new NamedChangeHandler(propertyName);
+    }
+
+    /**
+     * Creates a listener for an element whose properties do not report it as their bean.
+     */
+    @Nonnull
+    ElementChangeListener<Object> newElementHandler(@Nonnull Object element) {
+        return new ElementChangeHandler(element);
+    }
+
+    private class SharedChangeHandler implements ElementChangeListener<Object> {
+        @Override
+        public void changed(ObservableValue<?> observable, Object oldValue, Object newValue) {
+            ReadOnlyProperty<?> property = (ReadOnlyProperty<?>) observable;
+            elementChanged(property.getBean(), nameOf(property));
+        }
+    }
+
+    private class NamedChangeHandler implements ElementChangeListener<Object> {
+        private final String propertyName;
+
+        private NamedChangeHandler(@Nonnull String propertyName) {
+            this.propertyName = propertyName;
+        }
+
+        @Override
+        public void changed(ObservableValue<?> observable, Object oldValue, Object newValue) {
+            elementChanged(((ReadOnlyProperty<?>) observable).getBean(), propertyName);
+        }
+    }
+
+    private class ElementChangeHandler implements ElementChangeListener<Object> {
+        private final WeakReference<Object> element;
+
+        private ElementChangeHandler(@Nonnull Object element) {
+            this.element = new WeakReference<>(element);
+        }
+
+        @Override
+        public void changed(ObservableValue<?> observable, Object oldValue, Object newValue) {
+            Object changed = element.get();
+            if (changed != null) {
+                elementChanged(changed);
+            }
+        }
+    }
+}
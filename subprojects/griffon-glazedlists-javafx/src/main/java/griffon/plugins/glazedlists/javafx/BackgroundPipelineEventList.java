@@ -0,0 +1,317 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.TransformedList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventAssembler;
+import ca.odell.glazedlists.event.ListEventListener;
+import javafx.application.Platform;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static ca.odell.glazedlists.event.ListEvent.DELETE;
+import static ca.odell.glazedlists.event.ListEvent.INSERT;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A read-only {@link EventList} owned by the JavaFX application thread that mirrors the output
+ * of a pipeline evaluated by a background worker.
+ * <p>
+ * <p>The pipeline, for example a {@code SortedList} on top of a {@code FilterList}, is built over
+ * a private copy of the source that has its own lock. Changes of the source are recorded as a
+ * list of element changes, while holding the producer's lock, and replayed on the copy by the
+ * worker. The changes of the pipeline's output are recorded the same way and replayed on this
+ * list by the JavaFX application thread. Sorting and filtering therefore never run on the JavaFX
+ * application thread nor while holding the producer's lock, and the JavaFX application thread
+ * never waits on either the producer's or the worker's lock.</p>
+ * <p>
+ * <p>Every replay merges all the changes recorded so far into a single event. Reorders, such as
+ * those of a {@code SortedList} given a new comparator, are recorded as their reorder map and
+ * replayed as a reorder when nothing else changed since the last replay, and as updates of the
+ * moved elements otherwise.</p>
+ *
+ * @author Andres Almiray
+ */
+final class BackgroundPipelineEventList<S, E> extends TransformedList<E, E> {
+    // the type of a recorded reorder
+    private static final int REORDER = -1;
+
+    private final EventList<S> producerSource;
+    private final BatchEventList<S> workerSource = new BatchEventList<>();
+    private final EventList<E> workerOutput;
+    private final Executor workerExecutor;
+    private final Executor fxExecutor;
+
+    private final Queue<List<Delta>> sourceDeltas = new ConcurrentLinkedQueue<>();
+    private final Queue<List<Delta>> outputDeltas = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean workerScheduled = new AtomicBoolean();
+    private final AtomicBoolean fxScheduled = new AtomicBoolean();
+    private volatile boolean disposed;
+
+    private final ListEventListener<S> sourceListener = changes -> {
+        sourceDeltas.add(record(changes));
+        scheduleWorker();
+    };
+
+    private final ListEventListener<E> outputListener = changes -> {
+        outputDeltas.add(record(changes));
+        scheduleFx();
+    };
+
+    /**
+     * Create a {@link BackgroundPipelineEventList} that evaluates the given pipeline on
+     * the worker and delivers its output on the JavaFX application thread.
+     *
+     * @param producerSource the list changed by producers
+     * @param pipeline       builds the pipeline on top of the worker's copy of the source
+     * @param workerExecutor evaluates the pipeline. Must run tasks one at a time, in order.
+     * @param fxExecutor     runs tasks on the JavaFX application thread, such as {@link Platform#runLater(Runnable)}
+     */
+    BackgroundPipelineEventList(@Nonnull EventList<S> producerSource, @Nonnull Function<EventList<S>, EventList<E>> pipeline, @Nonnull Executor workerExecutor, @Nonnull Executor fxExecutor) {
+        super(new BatchEventList<>());
+        this.producerSource = requireNonNull(producerSource, "Argument 'producerSource' must not be null");
+        this.workerExecutor = requireNonNull(workerExecutor, "Argument 'workerExecutor' must not be null");
+        this.fxExecutor = requireNonNull(fxExecutor, "Argument 'fxExecutor' must not be null");
+        requireNonNull(pipeline, "Argument 'pipeline' must not be null");
+
+        // keeps the worker from replaying changes until the pipeline is fully set up
+        workerSource.getReadWriteLock().writeLock().lock();
+        try {
+            this.producerSource.getReadWriteLock().readLock().lock();
+            try {
+                workerSource.addAll(this.producerSource);
+                this.producerSource.addListEventListener(sourceListener);
+            } finally {
+                this.producerSource.getReadWriteLock().readLock().unlock();
+            }
+
+            workerOutput = requireNonNull(pipeline.apply(workerSource), "Argument 'pipeline' must not return null");
+            this.source.addAll(workerOutput);
+            workerOutput.addListEventListener(outputListener);
+        } finally {
+            workerSource.getReadWriteLock().writeLock().unlock();
+        }
+
+        this.source.addListEventListener(this);
+    }
+
+    @Override
+    protected boolean isWritable() {
+        return false;
+    }
+
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        updates.forwardEvent(listChanges);
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        producerSource.removeListEventListener(sourceListener);
+        workerOutput.removeListEventListener(outputListener);
+        super.dispose();
+    }
+
+    private void scheduleWorker() {
+        if (!disposed && workerScheduled.compareAndSet(false, true)) {
+            workerExecutor.execute(this::replaySourceChanges);
+        }
+    }
+
+    private void scheduleFx() {
+        if (!disposed && fxScheduled.compareAndSet(false, true)) {
+            fxExecutor.execute(this::replayOutputChanges);
+        }
+    }
+
+    private void replaySourceChanges() {
+        try {
+            replay(sourceDeltas, workerSource);
+        } finally {
+            workerScheduled.set(false);
+        }
+        // changes may have been recorded after the queue was drained, while still flagged as scheduled
+        if (!sourceDeltas.isEmpty()) {
+            scheduleWorker();
+        }
+    }
+
+    private void replayOutputChanges() {
+        try {
+            replay(outputDeltas, (BatchEventList<E>) source);
+        } finally {
+            fxScheduled.set(false);
+        }
+        if (!outputDeltas.isEmpty()) {
+            scheduleFx();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void replay(@Nonnull Queue<List<Delta>> queue, @Nonnull BatchEventList<T> target) {
+        List<Delta> deltas = new ArrayList<>();
+        for (List<Delta> recorded = queue.poll(); recorded != null; recorded = queue.poll()) {
+            deltas.addAll(recorded);
+        }
+
+        target.getReadWriteLock().writeLock().lock();
+        try {
+            if (deltas.size() == 1 && deltas.get(0).type == REORDER) {
+                target.reorder(deltas.get(0).reorderMap);
+                return;
+            }
+
+            // the changes of the target are forwarded into a single event
+            ListEventAssembler<T> events = target.events();
+            events.beginEvent(true);
+            try {
+                for (Delta delta : deltas) {
+                    if (delta.type == REORDER) {
+                        target.move(delta.reorderMap);
+                    } else if (delta.type == INSERT) {
+                        target.add(delta.index, (T) delta.value);
+                    } else if (delta.type == DELETE) {
+                        target.remove(delta.index);
+                    } else {
+                        target.set(delta.index, (T) delta.value);
+                    }
+                }
+            } finally {
+                events.commitEvent();
+            }
+        } finally {
+            target.getReadWriteLock().writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records the changes of a list, in the order they have to be replayed. Inserted and
+     * updated elements are read from the list, as the event may not carry their values.
+     * A reorder is recorded as its reorder map.
+     */
+    @Nonnull
+    private static <T> List<Delta> record(@Nonnull ListEvent<T> changes) {
+        if (changes.isReordering()) {
+            return Collections.singletonList(new Delta(REORDER, -1, null, changes.getReorderMap()));
+        }
+
+        EventList<T> list = changes.getSourceList();
+        List<Delta> deltas = new ArrayList<>();
+        while (changes.next()) {
+            int type = changes.getType();
+            int index = changes.getIndex();
+            deltas.add(new Delta(type, index, type == DELETE ? null : list.get(index), null));
+        }
+        changes.reset();
+        return deltas;
+    }
+
+    private static final class Delta {
+        private final int type;
+        private final int index;
+        private final Object value;
+        private final int[] reorderMap;
+
+        private Delta(int type, int index, Object value, int[] reorderMap) {
+            this.type = type;
+            this.index = index;
+            this.value = value;
+            this.reorderMap = reorderMap;
+        }
+    }
+
+    /**
+     * A writable {@link TransformedList} over a {@link BasicEventList} that exposes its
+     * {@link ListEventAssembler}, so that any number of changes may be merged into a single event.
+     */
+    private static final class BatchEventList<T> extends TransformedList<T, T> {
+        // keeps the changes of the source out of the event while it is reordered
+        private boolean reordering;
+
+        private BatchEventList() {
+            super(new BasicEventList<>());
+            source.addListEventListener(this);
+        }
+
+        @Nonnull
+        private ListEventAssembler<T> events() {
+            return updates;
+        }
+
+        @Override
+        protected boolean isWritable() {
+            return true;
+        }
+
+        /**
+         * Moves the elements as given by the reorder map and publishes a reorder.
+         */
+        private void reorder(@Nonnull int[] reorderMap) {
+            List<T> reordered = reordered(reorderMap);
+            reordering = true;
+            try {
+                source.clear();
+                source.addAll(reordered);
+            } finally {
+                reordering = false;
+            }
+            updates.beginEvent();
+            updates.reorder(reorderMap);
+            updates.commitEvent();
+        }
+
+        /**
+         * Moves the elements as given by the reorder map, which updates every index whose element
+         * changed. A reorder cannot be combined with other changes in a single event.
+         */
+        private void move(@Nonnull int[] reorderMap) {
+            List<T> reordered = reordered(reorderMap);
+            for (int i = 0; i < reordered.size(); i++) {
+                if (reordered.get(i) != source.get(i)) {
+                    source.set(i, reordered.get(i));
+                }
+            }
+        }
+
+        @Nonnull
+        private List<T> reordered(@Nonnull int[] reorderMap) {
+            List<T> reordered = new ArrayList<>(reorderMap.length);
+            for (int index : reorderMap) {
+                reordered.add(source.get(index));
+            }
+            return reordered;
+        }
+
+        @Override
+        public void listChanged(ListEvent<T> listChanges) {
+            if (!reordering) {
+                updates.forwardEvent(listChanges);
+            }
+        }
+    }
+}
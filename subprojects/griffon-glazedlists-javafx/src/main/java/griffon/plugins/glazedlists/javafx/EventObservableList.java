@@ -17,6 +17,7 @@ package griffon.plugins.glazedlists.javafx;
 
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventAssembler;
 import ca.odell.glazedlists.event.ListEventListener;
 import javafx.beans.InvalidationListener;
 import javafx.collections.ListChangeListener;
@@ -24,25 +25,36 @@ import javafx.collections.ObservableList;
 
 import javax.annotation.Nonnull;
 import java.util.AbstractList;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static ca.odell.glazedlists.event.ListEvent.DELETE;
 import static ca.odell.glazedlists.event.ListEvent.INSERT;
 import static ca.odell.glazedlists.event.ListEvent.UPDATE;
 import static java.util.Arrays.asList;
-import static java.util.Collections.singletonList;
-import static java.util.Collections.synchronizedList;
+import static java.util.Arrays.copyOf;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
 import static java.util.Objects.requireNonNull;
 
 /**
  * An adapter from {@link EventList} to {@link ObservableList}.
  * <p>
- * <p>Reordering events are currently ignored.</p>
+ * <p>Reordering events, such as the ones fired by a {@code SortedList} when its comparator
+ * changes, are published as a single permutation change.</p>
+ * <p>
+ * <p>Mutators always acquire the delegate's write lock. Readers acquire the delegate's
+ * read lock by default; alternatively they may be served from an immutable snapshot
+ * of the delegate's contents, see {@link ReadMode#SNAPSHOT} and {@link ReadMode#EAGER_SNAPSHOT}.</p>
+ * <p>
+ * <p>Iterators and subLists read one element at a time through {@link #get(int)} and fail
+ * fast with a {@code ConcurrentModificationException} should anyone else insert, remove or
+ * reorder elements of the delegate while in use. Use {@link #getSnapshot()} to traverse a
+ * list that is changed concurrently.</p>
  *
  * @author Andres Almiray
  */
@@ -51,34 +63,112 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
     private static final int[] EMPTY_INT_ARRAY = new int[0];
 
     private final EventList<E> delegate;
-    private final List<InvalidationListener> invalidationListeners = synchronizedList(new ArrayList<>());
-    private final List<ListChangeListener<? super E>> listChangeListeners = synchronizedList(new ArrayList<>());
+    private final ReadMode readMode;
+    private volatile Object[] snapshot;
+    // copy-on-write, listeners may (un)register while a change is being dispatched
+    private final CopyOnWriteArrayList<InvalidationListener> invalidationListeners = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<ListChangeListener<? super E>> listChangeListeners = new CopyOnWriteArrayList<>();
+
+    // collects the delegate's events while an atomic change is in progress, guarded by the write lock
+    private ListEventAssembler<E> pendingChanges;
+    private int changeDepth;
+    private volatile Thread changeOwner;
+    // the delegate's contents and reorder map after a reorder that is the only pending change,
+    // kept in case other changes follow, guarded by the write lock
+    private Object[] pendingReorder;
+    private int[] pendingReorderMap;
 
     private final ListEventListener<E> listEventListener = changes -> {
-        synchronized (invalidationListeners) {
-            for (Iterator<InvalidationListener> it = new ReverseIterator<>(invalidationListeners); it.hasNext(); ) {
-                it.next().invalidated(EventObservableList.this);
+        // lets iterators and subLists detect concurrent structural changes, see AbstractList
+        if (isStructural(changes)) {
+            modCount++;
+        }
+        if (pendingChanges != null) {
+            // the snapshot is published along with the whole atomic change, see firePendingChange
+            addPendingChange(changes);
+        } else {
+            snapshot = nextSnapshot(changes);
+            fireChange(changes);
+        }
+    };
+
+    public EventObservableList(@Nonnull EventList<E> delegate) {
+        this(delegate, ReadMode.READ_LOCK);
+    }
+
+    public EventObservableList(@Nonnull EventList<E> delegate, @Nonnull ReadMode readMode) {
+        this.delegate = requireNonNull(delegate, "Argument 'delegate' must not be null");
+        this.readMode = requireNonNull(readMode, "Argument 'readMode' must not be null");
+        if (readMode == ReadMode.EAGER_SNAPSHOT) {
+            supplyInsideReadLock(() -> {
+                snapshot = delegate.toArray();
+                delegate.addListEventListener(listEventListener);
+                return null;
+            });
+        } else {
+            this.delegate.addListEventListener(listEventListener);
+        }
+    }
+
+    /**
+     * Reports whether the given change inserts, deletes or reorders elements. Changes that only
+     * update elements leave open iterators and subLists valid, as {@link #set(int, Object)} does
+     * for {@code ArrayList}.
+     */
+    private static boolean isStructural(@Nonnull ListEvent<?> changes) {
+        if (changes.isReordering()) {
+            return true;
+        }
+        try {
+            while (changes.nextBlock()) {
+                if (changes.getType() != UPDATE) {
+                    return true;
+                }
             }
+            return false;
+        } finally {
+            changes.reset();
         }
+    }
 
-        synchronized (listChangeListeners) {
-            for (Iterator<ListChangeListener<? super E>> it = new ReverseIterator<>(listChangeListeners); it.hasNext(); ) {
-                ListEvent<E> changes_copy = changes.copy();
+    /**
+     * Returns the previous value of the current change, {@link ListEvent#UNKNOWN_VALUE} if not tracked.
+     */
+    @SuppressWarnings("deprecation") // ListEvent offers no other way to learn the removed elements
+    private static Object oldValue(@Nonnull ListEvent<?> changes) {
+        return changes.getOldValue();
+    }
 
-                // TODO: handle reordering
+    @SuppressWarnings("unchecked")
+    private void fireChange(@Nonnull ListEvent<E> changes) {
+        // listeners are notified in reverse order of registration, from a snapshot taken before dispatch
+        Object[] listeners = invalidationListeners.toArray();
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            ((InvalidationListener) listeners[i]).invalidated(EventObservableList.this);
+        }
 
-                ListChangeListener.Change<E> change = new ChangeAdapter(EventObservableList.this, changes_copy);
+        listeners = listChangeListeners.toArray();
+        if (listeners.length == 0) {
+            return;
+        }
 
-                if (it.hasNext()) {
-                    it.next().onChanged(change);
+        // a single Change is shared by all listeners, rewinding it before each notification
+        ChangeAdapter change = new ChangeAdapter(EventObservableList.this, changes);
+        try {
+            for (int i = listeners.length - 1; i >= 0; i--) {
+                if (i < listeners.length - 1) {
+                    change.reset();
                 }
+                ((ListChangeListener<? super E>) listeners[i]).onChanged(change);
             }
+        } finally {
+            change.dispose();
         }
-    };
+    }
 
-    public EventObservableList(@Nonnull EventList<E> delegate) {
-        this.delegate = requireNonNull(delegate, "Argument 'delegate' must not be null");
-        this.delegate.addListEventListener(listEventListener);
+    @Nonnull
+    public ReadMode getReadMode() {
+        return readMode;
     }
 
     /**
@@ -102,6 +192,224 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
         }
     }
 
+    private <T> T supplyInsideReadLock(@Nonnull Supplier<T> supplier) {
+        delegate.getReadWriteLock().readLock().lock();
+        try {
+            return supplier.get();
+        } finally {
+            delegate.getReadWriteLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Reports whether reads are served from the snapshot. The thread that performs an atomic
+     * change reads the delegate instead, as the snapshot is only published once the change
+     * completes.
+     */
+    private boolean readsSnapshot() {
+        return readMode != ReadMode.READ_LOCK && changeOwner != Thread.currentThread();
+    }
+
+    /**
+     * Returns the current snapshot of the delegate's contents, creating it if a
+     * change has been published since it was last taken. Snapshots are taken while
+     * holding the read lock, so they can never be published after a newer change
+     * has invalidated them.
+     */
+    @Nonnull
+    private Object[] snapshot() {
+        Object[] elements = snapshot;
+        if (elements == null) {
+            delegate.getReadWriteLock().readLock().lock();
+            try {
+                elements = snapshot;
+                if (elements == null) {
+                    elements = delegate.toArray();
+                    snapshot = elements;
+                }
+            } finally {
+                delegate.getReadWriteLock().readLock().unlock();
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Returns the snapshot that follows the given change of the delegate, {@code null} unless
+     * snapshots are taken eagerly. Elements that were not changed are copied in bulk from the
+     * previous snapshot, inserted and updated elements are read from the delegate. Invoked
+     * while the delegate's write lock is held.
+     */
+    private Object[] nextSnapshot(@Nonnull ListEvent<E> changes) {
+        Object[] previous = snapshot;
+        if (readMode != ReadMode.EAGER_SNAPSHOT) {
+            return null;
+        } else if (changes.isReordering()) {
+            return delegate.toArray();
+        }
+
+        Object[] current = new Object[delegate.size()];
+        int previousIndex = 0;
+        int currentIndex = 0;
+        while (changes.nextBlock()) {
+            int start = changes.getBlockStartIndex();
+            int length = changes.getBlockEndIndex() - start + 1;
+            int unchanged = start - currentIndex;
+            System.arraycopy(previous, previousIndex, current, currentIndex, unchanged);
+            previousIndex += unchanged;
+            currentIndex = start;
+
+            int type = changes.getType();
+            if (type != INSERT) {
+                previousIndex += length;
+            }
+            if (type != DELETE) {
+                for (int i = 0; i < length; i++) {
+                    current[currentIndex++] = delegate.get(start + i);
+                }
+            }
+        }
+        changes.reset();
+        System.arraycopy(previous, previousIndex, current, currentIndex, previous.length - previousIndex);
+        return current;
+    }
+
+    /**
+     * Starts an atomic change. The delegate's write lock is acquired and held until the matching
+     * call to {@link #endChange()}; every change made to the delegate in the meantime, by this
+     * list or by any other party, is published to this list's listeners as a single {@code Change}.
+     * The delegate's events are merged with a {@link ListEventAssembler}, the same way Glazed Lists
+     * composes nested events.
+     * <p>
+     * <p>Readers served from a snapshot on other threads keep seeing the contents from before the
+     * change until it is published, the thread that performs the change reads the delegate.</p>
+     * <p>
+     * <p>Calls may be nested, only the outermost {@link #endChange()} publishes the change. Every
+     * call to this method must be paired with a call to {@link #endChange()} on the same thread,
+     * preferably in a {@code finally} block. Consider using {@link #batch(Consumer)} instead.</p>
+     */
+    public void beginChange() {
+        delegate.getReadWriteLock().writeLock().lock();
+        if (changeDepth++ == 0) {
+            changeOwner = Thread.currentThread();
+            pendingChanges = newPendingChanges();
+        }
+    }
+
+    @Nonnull
+    private ListEventAssembler<E> newPendingChanges() {
+        ListEventAssembler<E> changes = new ListEventAssembler<>(delegate, ListEventAssembler.createListEventPublisher());
+        changes.addListEventListener(this::firePendingChange);
+        changes.beginEvent(true);
+        return changes;
+    }
+
+    /**
+     * Publishes the snapshot that follows an atomic change and notifies listeners, so that
+     * readers of the snapshot never observe part of the change.
+     */
+    private void firePendingChange(@Nonnull ListEvent<E> changes) {
+        snapshot = nextSnapshot(changes);
+        fireChange(changes);
+    }
+
+    /**
+     * Merges a change of the delegate into the atomic change in progress. The assembler keeps
+     * a reorder that is the only change as a permutation, but combines a reorder with any other
+     * change as the removal and insertion of every element, whose values it does not know. Such
+     * reorders are added as the removal and insertion of every element with their values instead,
+     * so that listeners are handed the removed elements.
+     */
+    private void addPendingChange(@Nonnull ListEvent<E> changes) {
+        if (pendingReorder != null) {
+            // another change follows a lone reorder, which the assembler holds without values
+            Object[] reordered = pendingReorder;
+            int[] reorderMap = pendingReorderMap;
+            pendingReorder = null;
+            pendingReorderMap = null;
+            pendingChanges = newPendingChanges();
+            addReorder(reordered, reorderMap);
+        }
+
+        if (!changes.isReordering()) {
+            pendingChanges.forwardEvent(changes);
+        } else if (pendingChanges.isEventEmpty()) {
+            pendingReorder = delegate.toArray();
+            pendingReorderMap = changes.getReorderMap();
+            pendingChanges.forwardEvent(changes);
+        } else {
+            addReorder(delegate.toArray(), changes.getReorderMap());
+        }
+    }
+
+    /**
+     * Adds a reorder to the atomic change in progress as the removal of every element, in their
+     * previous order, followed by the insertion of every element in their new order.
+     *
+     * @param reordered  the elements after the reorder
+     * @param reorderMap the previous index of the element now at each index
+     */
+    @SuppressWarnings("unchecked")
+    private void addReorder(@Nonnull Object[] reordered, @Nonnull int[] reorderMap) {
+        Object[] previous = new Object[reordered.length];
+        for (int i = 0; i < reorderMap.length; i++) {
+            previous[reorderMap[i]] = reordered[i];
+        }
+
+        pendingChanges.beginEvent(true);
+        for (Object element : previous) {
+            pendingChanges.elementDeleted(0, (E) element);
+        }
+        for (int i = 0; i < reordered.length; i++) {
+            pendingChanges.elementInserted(i, (E) reordered[i]);
+        }
+        pendingChanges.commitEvent();
+    }
+
+    /**
+     * Completes an atomic change started with {@link #beginChange()}, releasing the write lock.
+     * Listeners are notified when the outermost change completes, provided the delegate was changed.
+     *
+     * @throws IllegalStateException if the current thread has no atomic change in progress
+     */
+    public void endChange() {
+        if (changeOwner != Thread.currentThread()) {
+            throw new IllegalStateException("Cannot end a change that was not started by thread " + Thread.currentThread().getName());
+        }
+
+        try {
+            if (--changeDepth == 0) {
+                ListEventAssembler<E> changes = pendingChanges;
+                pendingChanges = null;
+                pendingReorder = null;
+                pendingReorderMap = null;
+                changeOwner = null;
+                changes.commitEvent();
+            }
+        } finally {
+            delegate.getReadWriteLock().writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the given mutations as a single atomic change, see {@link #beginChange()}.
+     * <p>
+     * <p>The mutations are performed on this list. Should they fail, the changes made up to
+     * that point are published nonetheless, as the delegate cannot be rolled back, and the
+     * exception is propagated to the caller.</p>
+     *
+     * @param mutations the mutations to apply. Must not be null.
+     */
+    public void batch(@Nonnull Consumer<? super List<E>> mutations) {
+        requireNonNull(mutations, "Argument 'mutations' must not be null");
+        beginChange();
+        try {
+            mutations.accept(this);
+        } finally {
+            endChange();
+        }
+    }
+
     private <T> void runInsideLock(@Nonnull Runnable runnable) {
         delegate.getReadWriteLock().writeLock().lock();
         try {
@@ -117,9 +425,7 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
     @Override
     public void addListener(ListChangeListener<? super E> listener) {
         requireNonNull(listener, ERROR_LISTENER_NULL);
-        if (!listChangeListeners.contains(listener)) {
-            listChangeListeners.add(listener);
-        }
+        listChangeListeners.addIfAbsent(listener);
     }
 
     /**
@@ -137,9 +443,7 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
     @Override
     public void addListener(InvalidationListener listener) {
         requireNonNull(listener, ERROR_LISTENER_NULL);
-        if (!invalidationListeners.contains(listener)) {
-            invalidationListeners.add(listener);
-        }
+        invalidationListeners.addIfAbsent(listener);
     }
 
     /**
@@ -169,12 +473,21 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
         return setAll(asList(elements));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <p>Listeners are notified once, with a single replacement covering the whole list.</p>
+     */
     @Override
     public boolean setAll(Collection<? extends E> elements) {
-        return supplyInsideLock(() -> {
-            clear();
-            return addAll(elements);
-        });
+        beginChange();
+        try {
+            boolean cleared = !delegate.isEmpty();
+            delegate.clear();
+            return delegate.addAll(elements) || cleared;
+        } finally {
+            endChange();
+        }
     }
 
     /**
@@ -221,25 +534,40 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
 
     /**
      * {@inheritDoc}
+     * <p>
+     * <p>Listeners are notified once, with a single removal covering the whole range.</p>
      */
     @Override
     public void remove(int from, int to) {
-        runInsideLock(() -> {
-            if ((to - from) <= 0) {
-                return;
-            }
+        if ((to - from) <= 0) {
+            return;
+        }
+        beginChange();
+        try {
             for (int i = (to - 1); i >= from; i--) {
-                remove(i);
+                delegate.remove(i);
             }
-        });
+        } finally {
+            endChange();
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked")
     public E get(int index) {
-        return supplyInsideLock(() -> delegate.get(index));
+        if (readsSnapshot()) {
+            return (E) snapshot()[index];
+        }
+
+        delegate.getReadWriteLock().readLock().lock();
+        try {
+            return delegate.get(index);
+        } finally {
+            delegate.getReadWriteLock().readLock().unlock();
+        }
     }
 
     /**
@@ -247,7 +575,16 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
      */
     @Override
     public int size() {
-        return supplyInsideLock(delegate::size);
+        if (readsSnapshot()) {
+            return snapshot().length;
+        }
+
+        delegate.getReadWriteLock().readLock().lock();
+        try {
+            return delegate.size();
+        } finally {
+            delegate.getReadWriteLock().readLock().unlock();
+        }
     }
 
     /**
@@ -255,7 +592,7 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
      */
     @Override
     public boolean isEmpty() {
-        return supplyInsideLock(delegate::isEmpty);
+        return size() == 0;
     }
 
     /**
@@ -263,7 +600,7 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
      */
     @Override
     public boolean contains(Object o) {
-        return supplyInsideLock(() -> delegate.contains(o));
+        return indexOf(o) > -1;
     }
 
     /**
@@ -272,7 +609,10 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
     @Override
     @SuppressWarnings("NullableProblems")
     public Object[] toArray() {
-        return supplyInsideLock(delegate::toArray);
+        if (readsSnapshot()) {
+            return snapshot().clone();
+        }
+        return supplyInsideReadLock(delegate::toArray);
     }
 
     /**
@@ -281,7 +621,10 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
     @Override
     @SuppressWarnings({"NullableProblems", "SuspiciousToArrayCall"})
     public <T> T[] toArray(T[] a) {
-        return supplyInsideLock(() -> delegate.toArray(a));
+        if (readsSnapshot()) {
+            return asList(snapshot()).toArray(a);
+        }
+        return supplyInsideReadLock(() -> delegate.toArray(a));
     }
 
     /**
@@ -298,7 +641,11 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
     @Override
     @SuppressWarnings("NullableProblems")
     public boolean containsAll(Collection<?> c) {
-        return supplyInsideLock(() -> delegate.containsAll(c));
+        if (readsSnapshot()) {
+            List<Object> elements = asList(snapshot());
+            return elements.containsAll(c);
+        }
+        return supplyInsideReadLock(() -> delegate.containsAll(c));
     }
 
     /**
@@ -338,7 +685,10 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
      */
     @Override
     public int indexOf(Object o) {
-        return supplyInsideLock(() -> delegate.indexOf(o));
+        if (readsSnapshot()) {
+            return asList(snapshot()).indexOf(o);
+        }
+        return supplyInsideReadLock(() -> delegate.indexOf(o));
     }
 
     /**
@@ -346,7 +696,10 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
      */
     @Override
     public int lastIndexOf(Object o) {
-        return supplyInsideLock(() -> delegate.lastIndexOf(o));
+        if (readsSnapshot()) {
+            return asList(snapshot()).lastIndexOf(o);
+        }
+        return supplyInsideReadLock(() -> delegate.lastIndexOf(o));
     }
 
     /**
@@ -368,119 +721,353 @@ public class EventObservableList<E> extends AbstractList<E> implements Observabl
 
     /**
      * {@inheritDoc}
+     * <p>
+     * <p>Listeners are notified once, with a single removal covering the whole range.</p>
      */
     @Override
-    @SuppressWarnings("NullableProblems")
-    public Iterator<E> iterator() {
-        return supplyInsideLock(delegate::iterator);
+    protected void removeRange(int fromIndex, int toIndex) {
+        remove(fromIndex, toIndex);
     }
 
     /**
-     * {@inheritDoc}
+     * Returns an immutable copy of this list's contents as of the time of the call. The copy
+     * is shared with readers when using a snapshot {@link ReadMode}, otherwise it is taken while
+     * holding the read lock. Either way no lock is held while iterating the returned list, which
+     * makes it the preferred way to export or aggregate large lists that are changed concurrently.
+     *
+     * @return a point-in-time snapshot of this list.
      */
-    @Override
-    @SuppressWarnings("NullableProblems")
-    public ListIterator<E> listIterator() {
-        return supplyInsideLock(() -> delegate.listIterator());
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public List<E> getSnapshot() {
+        Object[] elements = readsSnapshot() ? snapshot() : supplyInsideReadLock(delegate::toArray);
+        return unmodifiableList((List<E>) asList(elements));
     }
 
     /**
-     * {@inheritDoc}
+     * Defines how read operations are guarded against concurrent changes of the delegate list.
      */
-    @Override
-    @SuppressWarnings("NullableProblems")
-    public ListIterator<E> listIterator(int index) {
-        return supplyInsideLock(() -> delegate.listIterator(index));
+    public enum ReadMode {
+        /**
+         * Reads acquire the delegate's read lock. Readers do not block each other, they only
+         * wait for writers that are currently holding the write lock.
+         */
+        READ_LOCK,
+
+        /**
+         * Reads are served from an immutable snapshot of the delegate's contents without acquiring
+         * any locks. The snapshot is discarded whenever the delegate publishes a change and it is
+         * taken again (while holding the read lock) by the first read that follows. Best suited
+         * for lists that are read far more often than they are changed, such as the items of a
+         * {@code TableView} fed by a thread proxy list.
+         */
+        SNAPSHOT,
+
+        /**
+         * Reads are served from an immutable snapshot of the delegate's contents without acquiring
+         * any locks, like {@link #SNAPSHOT}. A new snapshot is built and published by the change
+         * listener, from the previous one, every time the delegate publishes a change, so readers
+         * never take the lock even after a change. This costs a copy of the list per change on the
+         * thread that changes the delegate; best suited for lists fed by a thread proxy list,
+         * whose changes are delivered on the same thread that reads them, such as the items of a
+         * {@code TableView}.
+         */
+        EAGER_SNAPSHOT
     }
 
     /**
-     * {@inheritDoc}
+     * An immutable view of a {@link ListEvent} as a JavaFX {@code Change}. The event's blocks
+     * are copied once into primitive arrays so that a single instance can be shared by every
+     * registered listener; {@link #reset()} rewinds the cursor before each listener is notified.
+     * <p>
+     * Contiguous blocks are coalesced: a deletion followed by insertions at the same index
+     * becomes a single replacement, adjacent insertions or deletions become one range and
+     * adjacent updates are merged as well. Glazed Lists reports both {@code set()} and element
+     * changes as updates; an update range where at least one element was replaced by a different
+     * instance is published as a replacement, as JavaFX lists do. Removed elements and the
+     * nature of updates are only resolved the first time a listener asks for them, by walking
+     * the event once; this must happen while the change is being dispatched.
+     * <p>
+     * A reordering event becomes a single permutation spanning the whole list. Glazed Lists'
+     * reorder map holds the previous index of the element now at index {@code i}, JavaFX
+     * expects the opposite mapping, so the map is inverted once in {@code O(n)}.
      */
-    @Override
-    @SuppressWarnings("NullableProblems")
-    public List<E> subList(int fromIndex, int toIndex) {
-        return supplyInsideLock(() -> delegate.subList(fromIndex, toIndex));
-    }
-
-    private static class ReverseIterator<T> implements Iterator<T>, Iterable<T> {
-        private final ListIterator<T> delegate;
+    private class ChangeAdapter extends ListChangeListener.Change<E> {
+        private static final int INITIAL_CAPACITY = 4;
+
+        // kinds of sub-changes
+        private static final int STRUCTURAL = 0;
+        private static final int UPDATED = 1;
+        private static final int PERMUTATED = 2;
+
+        private int[] kinds = new int[INITIAL_CAPACITY];
+        private int[] froms = new int[INITIAL_CAPACITY];
+        private int[] tos = new int[INITIAL_CAPACITY];
+        private int[] removedOffsets = new int[INITIAL_CAPACITY];
+        private int[] removedSizes = new int[INITIAL_CAPACITY];
+        private int[] permutation = EMPTY_INT_ARRAY;
+        private final int size;
+        private final int totalRemoved;
+        private final int totalUpdated;
+        private ListEvent<E> changes;
+        private Object[] removed;
+        private boolean inspected;
+        private int cursor = -1;
 
-        public ReverseIterator(List<T> list) {
-            this.delegate = list.listIterator(list.size());
-        }
+        public ChangeAdapter(EventObservableList<E> list, ListEvent<E> changes) {
+            super(list);
+            this.changes = changes;
 
-        @Override
-        public Iterator<T> iterator() {
-            return this;
-        }
+            if (changes.isReordering()) {
+                int[] reorderMap = changes.getReorderMap();
+                permutation = new int[reorderMap.length];
+                for (int i = 0; i < reorderMap.length; i++) {
+                    permutation[reorderMap[i]] = i;
+                }
+                kinds[0] = PERMUTATED;
+                froms[0] = 0;
+                tos[0] = reorderMap.length;
+                size = reorderMap.length > 0 ? 1 : 0;
+                totalRemoved = 0;
+                totalUpdated = 0;
+                return;
+            }
 
-        @Override
-        public boolean hasNext() {
-            return delegate.hasPrevious();
-        }
+            int count = 0;
+            int removedCount = 0;
+            while (changes.nextBlock()) {
+                int type = changes.getType();
+                int from = changes.getBlockStartIndex();
+                int length = changes.getBlockEndIndex() - from + 1;
+                int last = count - 1;
+
+                if (type == UPDATE) {
+                    if (last > -1 && kinds[last] == UPDATED && tos[last] == from) {
+                        tos[last] += length;
+                        continue;
+                    }
+                } else if (last > -1 && kinds[last] == STRUCTURAL && tos[last] == from) {
+                    // deletions and insertions that continue the previous range extend it
+                    if (type == DELETE) {
+                        removedSizes[last] += length;
+                        removedCount += length;
+                    } else {
+                        tos[last] += length;
+                    }
+                    continue;
+                }
 
-        @Override
-        public T next() {
-            return delegate.previous();
-        }
+                if (count == kinds.length) {
+                    int capacity = count * 2;
+                    kinds = copyOf(kinds, capacity);
+                    froms = copyOf(froms, capacity);
+                    tos = copyOf(tos, capacity);
+                    removedOffsets = copyOf(removedOffsets, capacity);
+                    removedSizes = copyOf(removedSizes, capacity);
+                }
 
-        @Override
-        public void remove() {
-            delegate.remove();
+                froms[count] = from;
+                removedOffsets[count] = removedCount;
+                if (type == UPDATE) {
+                    kinds[count] = UPDATED;
+                    tos[count] = from + length;
+                } else if (type == INSERT) {
+                    kinds[count] = STRUCTURAL;
+                    tos[count] = from + length;
+                } else {
+                    kinds[count] = STRUCTURAL;
+                    tos[count] = from;
+                    removedSizes[count] = length;
+                    removedCount += length;
+                }
+                count++;
+            }
+            size = count;
+            totalRemoved = removedCount;
+
+            // old values of updated elements are stored after the removed ones
+            int updatedCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (kinds[i] == UPDATED) {
+                    removedOffsets[i] = removedCount + updatedCount;
+                    updatedCount += tos[i] - froms[i];
+                }
+            }
+            totalUpdated = updatedCount;
         }
-    }
 
-    private class ChangeAdapter extends ListChangeListener.Change<E> {
-        private final ListEvent<E> changes;
-
-        public ChangeAdapter(EventObservableList<E> list, ListEvent<E> changes) {
-            super(list);
-            this.changes = changes;
+        /**
+         * Releases the underlying event once all listeners have been notified.
+         */
+        private void dispose() {
+            changes = null;
         }
 
         @Override
         public boolean next() {
-            return changes.nextBlock();
+            if (cursor < size - 1) {
+                cursor++;
+                return true;
+            }
+            return false;
         }
 
         @Override
         public void reset() {
-            changes.reset();
+            cursor = -1;
         }
 
         @Override
         public int getFrom() {
-            return changes.getBlockStartIndex();
+            checkState();
+            return froms[cursor];
         }
 
         @Override
         public int getTo() {
-            return changes.getBlockEndIndex() + 1;
+            checkState();
+            return tos[cursor];
         }
 
         @Override
         public List<E> getRemoved() {
-            return singletonList(changes.getOldValue());
+            kind();
+            int removedSize = removedSizes[cursor];
+            if (removedSize == 0) {
+                return emptyList();
+            }
+            inspect();
+            return new RemovedList(removedOffsets[cursor], removedSize);
+        }
+
+        @Override
+        public int getRemovedSize() {
+            kind();
+            return removedSizes[cursor];
         }
 
         @Override
         public boolean wasAdded() {
-            return changes.getType() == INSERT;
+            return kind() == STRUCTURAL && tos[cursor] > froms[cursor];
         }
 
         @Override
         public boolean wasRemoved() {
-            return changes.getType() == DELETE;
+            kind();
+            return removedSizes[cursor] > 0;
         }
 
         @Override
         public boolean wasUpdated() {
-            return changes.getType() == UPDATE;
+            return kind() == UPDATED;
         }
 
         @Override
         protected int[] getPermutation() {
-            return EMPTY_INT_ARRAY;
+            checkState();
+            return kinds[cursor] == PERMUTATED ? permutation : EMPTY_INT_ARRAY;
+        }
+
+        private void checkState() {
+            if (cursor == -1) {
+                throw new IllegalStateException("Invalid Change state: next() must be called before inspecting the Change.");
+            }
+        }
+
+        /**
+         * Returns the kind of the current sub-change, telling replacements apart from updates if needed.
+         */
+        private int kind() {
+            checkState();
+            if (kinds[cursor] == UPDATED) {
+                inspect();
+            }
+            return kinds[cursor];
+        }
+
+        /**
+         * Walks the event element by element, in order, collecting the old values of deleted and
+         * updated elements. Updates whose old value differs from the current element become replacements.
+         */
+        private void inspect() {
+            if (inspected) {
+                return;
+            }
+            if (changes == null) {
+                throw new IllegalStateException("Removed elements are only available while the Change is being dispatched.");
+            }
+
+            Object[] values = new Object[totalRemoved + totalUpdated];
+            int removedIndex = 0;
+            int updatedIndex = totalRemoved;
+            int updated = -1;
+            int remaining = 0;
+            boolean replaced = false;
+
+            changes.reset();
+            while (changes.next()) {
+                int type = changes.getType();
+                if (type == DELETE) {
+                    Object oldValue = oldValue(changes);
+                    values[removedIndex++] = oldValue == ListEvent.UNKNOWN_VALUE ? null : oldValue;
+                } else if (type == UPDATE) {
+                    if (remaining == 0) {
+                        if (replaced) {
+                            markReplaced(updated);
+                        }
+                        do {
+                            updated++;
+                        } while (kinds[updated] != UPDATED);
+                        remaining = tos[updated] - froms[updated];
+                        replaced = false;
+                    }
+
+                    Object oldValue = oldValue(changes);
+                    Object currentValue = delegate.get(changes.getIndex());
+                    if (oldValue == ListEvent.UNKNOWN_VALUE) {
+                        oldValue = currentValue;
+                    } else if (oldValue != currentValue) {
+                        replaced = true;
+                    }
+                    values[updatedIndex++] = oldValue;
+                    remaining--;
+                }
+            }
+            if (replaced) {
+                markReplaced(updated);
+            }
+
+            removed = values;
+            inspected = true;
+        }
+
+        private void markReplaced(int index) {
+            kinds[index] = STRUCTURAL;
+            removedSizes[index] = tos[index] - froms[index];
+        }
+
+        private class RemovedList extends AbstractList<E> implements RandomAccess {
+            private final int offset;
+            private final int size;
+
+            private RemovedList(int offset, int size) {
+                this.offset = offset;
+                this.size = size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                return (E) removed[offset + index];
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -18,7 +18,6 @@ package griffon.plugins.glazedlists.javafx;
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.ObservableElementList;
 import ca.odell.glazedlists.TransformedList;
-import ca.odell.glazedlists.impl.gui.ThreadProxyEventList;
 import griffon.plugins.glazedlists.ColumnReader;
 import griffon.plugins.glazedlists.javafx.gui.DefaultFXTableFormat;
 import griffon.plugins.glazedlists.javafx.gui.FXTableFormat;
@@ -29,6 +28,11 @@ import javafx.collections.ObservableList;
 
 import javax.annotation.Nonnull;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static griffon.util.GriffonClassUtils.requireState;
 import static java.util.Objects.requireNonNull;
@@ -53,6 +57,45 @@ public final class GlazedListsJavaFX {
         return new PropertyContainerConnector<>(propertyNames);
     }
 
+    /**
+     * Creates a connector that records changed elements and reports them, once per element,
+     * when the given policy delivers pending changes. Use {@link ThreadProxyPolicy#perPulse()}
+     * to report at most one batch of changes per JavaFX pulse, and observe the elements with a
+     * {@link griffon.plugins.glazedlists.BatchObservableElementList} to receive every batch as
+     * a single event.
+     *
+     * @param policy        defines when changed elements are reported. Must not be null.
+     * @param propertyNames the names of the properties to observe, all properties when empty.
+     */
+    @Nonnull
+    public static <E extends PropertyContainer> ObservableElementList.Connector<E> propertyContainerConnector(@Nonnull ThreadProxyPolicy policy, @Nonnull String... propertyNames) {
+        return new PropertyContainerConnector<>(propertyNames, policy);
+    }
+
+    /**
+     * Creates a connector that observes the JavaFX properties of any bean, found by their
+     * {@code <name>Property()} methods once per class.
+     *
+     * @param propertyNames the names of the properties to observe, all properties when empty.
+     */
+    @Nonnull
+    public static <E> ObservableElementList.Connector<E> javaFXBeanConnector(@Nonnull String... propertyNames) {
+        return new JavaFXBeanConnector<>(propertyNames);
+    }
+
+    /**
+     * Creates a connector that observes the JavaFX properties of any bean, found by their
+     * {@code <name>Property()} methods once per class, and reports changed elements once per
+     * element when the given policy delivers pending changes.
+     *
+     * @param policy        defines when changed elements are reported. Must not be null.
+     * @param propertyNames the names of the properties to observe, all properties when empty.
+     */
+    @Nonnull
+    public static <E> ObservableElementList.Connector<E> javaFXBeanConnector(@Nonnull ThreadProxyPolicy policy, @Nonnull String... propertyNames) {
+        return new JavaFXBeanConnector<>(propertyNames, policy);
+    }
+
     /**
      * Wraps the source in an {@link EventList} that fires all of its update
      * events from the JavaFX application thread.
@@ -62,7 +105,66 @@ public final class GlazedListsJavaFX {
      */
     @Nonnull
     public static <E> TransformedList<E, E> createJavaFXThreadProxyList(@Nonnull EventList<E> source) {
-        return new JavaFXThreadProxyEventList<>(requireNonNull(source, "Argument 'source' must not be null"));
+        return createJavaFXThreadProxyList(source, ThreadProxyPolicy.immediate());
+    }
+
+    /**
+     * Wraps the source in an {@link EventList} that fires all of its update
+     * events from the JavaFX application thread, following the given policy.
+     * Use {@link ThreadProxyPolicy#perPulse()} to deliver at most one event per
+     * JavaFX pulse regardless of how often the source changes.
+     *
+     * @param source the {@link EventList} to be wrapped. Must not be null.
+     * @param policy defines when pending changes are delivered. Must not be null.
+     * @return a wrapped {@link EventList} that fires all of its update events inside the JavaFX application thread.
+     */
+    @Nonnull
+    public static <E> TransformedList<E, E> createJavaFXThreadProxyList(@Nonnull EventList<E> source, @Nonnull ThreadProxyPolicy policy) {
+        requireNonNull(source, "Argument 'source' must not be null");
+        requireNonNull(policy, "Argument 'policy' must not be null");
+        return new JavaFXThreadProxyEventList<>(source, policy);
+    }
+
+    /**
+     * Creates an {@link EventList} owned by the JavaFX application thread that mirrors the output of
+     * a pipeline, such as a {@code SortedList} or a {@code FilterList}, evaluated by a background worker.
+     * The pipeline is built by the given function on top of a private copy of the source; only the
+     * changes of its output are handed over to the JavaFX application thread, merged into a single
+     * event. Neither the worker nor the JavaFX application thread ever wait on the source's lock
+     * for longer than it takes to copy a change.
+     * <p>
+     * <p>The pipeline is evaluated by a dedicated daemon thread that terminates when idle.</p>
+     *
+     * @param source   the {@link EventList} changed by producers. Must not be null.
+     * @param pipeline builds the pipeline on top of the given list. Must not be null.
+     * @return a read-only {@link EventList} that fires all of its update events inside the JavaFX application thread.
+     */
+    @Nonnull
+    public static <S, E> TransformedList<E, E> createBackgroundPipeline(@Nonnull EventList<S> source, @Nonnull Function<EventList<S>, EventList<E>> pipeline) {
+        ThreadPoolExecutor worker = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "glazedlists-javafx-pipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.allowCoreThreadTimeOut(true);
+        return createBackgroundPipeline(source, pipeline, worker);
+    }
+
+    /**
+     * Creates an {@link EventList} owned by the JavaFX application thread that mirrors the output of
+     * a pipeline evaluated by a background worker, see {@link #createBackgroundPipeline(EventList, Function)}.
+     *
+     * @param source   the {@link EventList} changed by producers. Must not be null.
+     * @param pipeline builds the pipeline on top of the given list. Must not be null.
+     * @param worker   evaluates the pipeline. Must run tasks one at a time, in submission order. Must not be null.
+     * @return a read-only {@link EventList} that fires all of its update events inside the JavaFX application thread.
+     */
+    @Nonnull
+    public static <S, E> TransformedList<E, E> createBackgroundPipeline(@Nonnull EventList<S> source, @Nonnull Function<EventList<S>, EventList<E>> pipeline, @Nonnull Executor worker) {
+        requireNonNull(source, "Argument 'source' must not be null");
+        requireNonNull(pipeline, "Argument 'pipeline' must not be null");
+        requireNonNull(worker, "Argument 'worker' must not be null");
+        return new BackgroundPipelineEventList<>(source, pipeline, worker, Platform::runLater);
     }
 
     public static boolean isJavaFXThreadProxyList(EventList list) {
@@ -149,29 +251,49 @@ public final class GlazedListsJavaFX {
      * @param tableFormat the object responsible for extracting column data from the row objects
      */
     public static <E> FXTableViewModel<E> eventTableViewModelWithThreadProxyList(@Nonnull EventList<E> source, @Nonnull FXTableFormat<? super E> tableFormat) {
-        EventList<E> proxySource = createJavaFXThreadProxyList(source);
-        return new DefaultFXTableViewModel<>(new EventObservableList<>(proxySource), tableFormat);
-    }
-
-    private static class JavaFXThreadProxyEventList<E> extends ThreadProxyEventList<E> {
-        /**
-         * Create a {@link JavaFXThreadProxyEventList} which delivers changes to the
-         * given <code>source</code> on the JavaFX application thread.
-         *
-         * @param source the {@link EventList} for which to proxy events
-         */
-        private JavaFXThreadProxyEventList(@Nonnull EventList<E> source) {
-            super(source);
-        }
-
-        @Override
-        protected void schedule(Runnable runnable) {
-            requireNonNull(runnable, "Argument 'runnable' must not be null");
-            if (Platform.isFxApplicationThread()) {
-                runnable.run();
-            } else {
-                Platform.runLater(runnable);
-            }
-        }
+        return eventTableViewModelWithThreadProxyList(source, tableFormat, ThreadProxyPolicy.immediate());
+    }
+
+    /**
+     * Creates a new table model that extracts column data from the given <code>source</code>
+     * using the the given <code>tableFormat</code>. While holding a read lock,
+     * this method wraps the source list using
+     * {@link GlazedListsJavaFX#createJavaFXThreadProxyList(EventList, ThreadProxyPolicy)}.
+     * <p>
+     * The returned table model is <strong>not thread-safe</strong>. Unless otherwise noted, all
+     * methods are only safe to be called from the event dispatch thread.
+     * </p>
+     *
+     * @param source      the EventList that provides the row objects
+     * @param tableFormat the object responsible for extracting column data from the row objects
+     * @param policy      defines when and how changes of the source are delivered
+     */
+    public static <E> FXTableViewModel<E> eventTableViewModelWithThreadProxyList(@Nonnull EventList<E> source, @Nonnull FXTableFormat<? super E> tableFormat, @Nonnull ThreadProxyPolicy policy) {
+        return eventTableViewModelWithThreadProxyList(source, tableFormat, policy, EventObservableList.ReadMode.READ_LOCK);
+    }
+
+    /**
+     * Creates a new table model that extracts column data from the given <code>source</code>
+     * using the the given <code>tableFormat</code>. While holding a read lock,
+     * this method wraps the source list using
+     * {@link GlazedListsJavaFX#createJavaFXThreadProxyList(EventList, ThreadProxyPolicy)}.
+     * <p>
+     * The proxy delivers its changes on the JavaFX application thread, where the table reads its
+     * rows, which makes {@link EventObservableList.ReadMode#EAGER_SNAPSHOT} a good fit: rendering
+     * reads a snapshot without locking, at the cost of a copy of the list per delivered change.
+     * </p>
+     * <p>
+     * The returned table model is <strong>not thread-safe</strong>. Unless otherwise noted, all
+     * methods are only safe to be called from the event dispatch thread.
+     * </p>
+     *
+     * @param source      the EventList that provides the row objects
+     * @param tableFormat the object responsible for extracting column data from the row objects
+     * @param policy      defines when and how changes of the source are delivered
+     * @param readMode    defines how the rows are read by the table
+     */
+    public static <E> FXTableViewModel<E> eventTableViewModelWithThreadProxyList(@Nonnull EventList<E> source, @Nonnull FXTableFormat<? super E> tableFormat, @Nonnull ThreadProxyPolicy policy, @Nonnull EventObservableList.ReadMode readMode) {
+        EventList<E> proxySource = createJavaFXThreadProxyList(source, policy);
+        return new DefaultFXTableViewModel<>(new EventObservableList<>(proxySource, readMode), tableFormat);
     }
 }
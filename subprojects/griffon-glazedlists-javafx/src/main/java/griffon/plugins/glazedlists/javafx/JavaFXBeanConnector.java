@@ -0,0 +1,190 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx;
+
+import griffon.exceptions.InstanceMethodInvocationException;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.EventListener;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static griffon.util.MethodUtils.getAccessibleMethod;
+
+/**
+ * Observes the JavaFX properties of plain beans, found by their {@code <name>Property()} methods.
+ * The public methods of an element class that take no arguments and return an {@link ObservableValue}
+ * are discovered once per class and invoked through method handles afterwards. Elements whose
+ * properties all report the element as their bean share a single listener, other elements get a
+ * listener of their own. Elements of classes without matching properties are not observed.
+ * Changes observed by the shared listeners are reported with the name derived from the accessor,
+ * whatever name the property itself was given.
+ * <p>
+ * <p>Installing a listener invokes every matching {@code <name>Property()} method, which creates
+ * the properties of beans that create them lazily. Changes are reported right away, or coalesced
+ * when the connector is created with a {@link ThreadProxyPolicy}, see {@link AbstractElementConnector}.</p>
+ *
+ * @author Andres Almiray
+ */
+public class JavaFXBeanConnector<T> extends AbstractElementConnector<T> {
+    private static final String PROPERTY_SUFFIX = "Property";
+    private static final String[] EMPTY_STRING_ARRAY = new String[0];
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(ObservableValue.class, Object.class);
+
+    private final Map<Class<?>, Accessor[]> accessors = new ConcurrentHashMap<>();
+
+    public JavaFXBeanConnector() {
+        super(EMPTY_STRING_ARRAY);
+    }
+
+    public JavaFXBeanConnector(@Nonnull String[] propertyNames) {
+        super(propertyNames);
+    }
+
+    /**
+     * Creates a connector that coalesces the changes of the given properties until the
+     * given policy delivers them. All properties are observed when no names are given.
+     *
+     * @param propertyNames the names of the properties to observe. Must not be null.
+     * @param policy        defines when changed elements are reported. Must not be null.
+     */
+    public JavaFXBeanConnector(@Nonnull String[] propertyNames, @Nonnull ThreadProxyPolicy policy) {
+        super(propertyNames, policy);
+    }
+
+    // visible for testing, the scheduler is handed the flush of pending changes
+    JavaFXBeanConnector(@Nonnull String[] propertyNames, @Nonnull ThreadProxyPolicy policy, @Nonnull Consumer<Runnable> scheduler) {
+        super(propertyNames, policy, scheduler);
+    }
+
+    @Override
+    public EventListener installListener(T element) {
+        Accessor[] elementAccessors = accessors(element.getClass());
+        if (elementAccessors.length == 0) {
+            return null;
+        }
+
+        boolean shared = true;
+        for (Accessor accessor : elementAccessors) {
+            ObservableValue<?> value = accessor.invoke(element);
+            if (value != null && !isSharedBy(value, element)) {
+                shared = false;
+                break;
+            }
+        }
+
+        // the shared handler marks elements observed by the listeners of their accessors
+        ElementChangeListener<Object> listener = shared ? sharedHandler : newElementHandler(element);
+        for (Accessor accessor : elementAccessors) {
+            ObservableValue<?> value = accessor.invoke(element);
+            if (value != null) {
+                value.addListener(shared ? accessor.listener : listener);
+            }
+        }
+        return listener;
+    }
+
+    @Override
+    public void uninstallListener(T element, EventListener listener) {
+        discardChanges(element);
+
+        if (listener instanceof ChangeListener) {
+            // listeners installed by this connector accept values of any type
+            @SuppressWarnings("unchecked")
+            ChangeListener<Object> cl = (ChangeListener<Object>) listener;
+            for (Accessor accessor : accessors(element.getClass())) {
+                ObservableValue<?> value = accessor.invoke(element);
+                if (value != null) {
+                    value.removeListener(listener == sharedHandler ? accessor.listener : cl);
+                }
+            }
+        }
+    }
+
+    @Nonnull
+    private Accessor[] accessors(@Nonnull Class<?> type) {
+        Accessor[] typeAccessors = accessors.get(type);
+        if (typeAccessors == null) {
+            typeAccessors = discoverAccessors(type);
+            accessors.put(type, typeAccessors);
+        }
+        return typeAccessors;
+    }
+
+    @Nonnull
+    private Accessor[] discoverAccessors(@Nonnull Class<?> type) {
+        // sorted by name, overridden methods with covariant return types are found more than once
+        Map<String, Accessor> found = new TreeMap<>();
+        for (Method method : type.getMethods()) {
+            String methodName = method.getName();
+            if (method.getParameterCount() != 0 ||
+                Modifier.isStatic(method.getModifiers()) ||
+                methodName.length() <= PROPERTY_SUFFIX.length() ||
+                !methodName.endsWith(PROPERTY_SUFFIX) ||
+                !ObservableValue.class.isAssignableFrom(method.getReturnType()) ||
+                found.containsKey(methodName)) {
+                continue;
+            }
+            String propertyName = methodName.substring(0, methodName.length() - PROPERTY_SUFFIX.length());
+            if (!matches(propertyName)) {
+                continue;
+            }
+
+            // public methods of non public classes are invoked through a public declaration, if any
+            Method accessible = getAccessibleMethod(method);
+            if (accessible != null) {
+                try {
+                    found.put(methodName, new Accessor(methodName, MethodHandles.publicLookup().unreflect(accessible).asType(ACCESSOR_TYPE),
+                        newSharedHandler(propertyName)));
+                } catch (IllegalAccessException e) {
+                    // the property can not be observed
+                }
+            }
+        }
+        return found.values().toArray(new Accessor[found.size()]);
+    }
+
+    private static final class Accessor {
+        private final String methodName;
+        private final MethodHandle handle;
+        // reports the changes of this property for all elements that share listeners
+        private final ElementChangeListener<Object> listener;
+
+        private Accessor(@Nonnull String methodName, @Nonnull MethodHandle handle, @Nonnull ElementChangeListener<Object> listener) {
+            this.methodName = methodName;
+            this.handle = handle;
+            this.listener = listener;
+        }
+
+        private ObservableValue<?> invoke(@Nonnull Object bean) {
+            try {
+                return (ObservableValue<?>) handle.invokeExact(bean);
+            } catch (Throwable t) {
+                throw new InstanceMethodInvocationException(bean, methodName, NO_ARGS, t);
+            }
+        }
+    }
+}
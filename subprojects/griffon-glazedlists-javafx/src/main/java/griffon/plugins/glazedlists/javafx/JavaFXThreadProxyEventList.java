@@ -0,0 +1,294 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.TransformedList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventAssembler;
+import griffon.plugins.glazedlists.ChangedProperties;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static ca.odell.glazedlists.event.ListEvent.DELETE;
+import static ca.odell.glazedlists.event.ListEvent.INSERT;
+import static ca.odell.glazedlists.event.ListEvent.UPDATE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link EventList} that delivers the changes of its source on the JavaFX application
+ * thread, according to a {@link ThreadProxyPolicy}. Like Glazed Lists' own
+ * {@code ThreadProxyEventList} it keeps a copy of the source's elements that is only
+ * updated when pending changes are delivered, merged into a single event.
+ * <p>
+ * <p>Flushes are posted with {@link Platform#runLater(Runnable)} by default. Policies that
+ * limit the flush rate wait for the next pulse instead, driven by an {@link AnimationTimer},
+ * as {@code runLater} would deliver a new event every time the JavaFX application thread
+ * drains its queue, many times per frame under a busy feed.</p>
+ * <p>
+ * <p>The {@link ChangedProperties} published with the updates of the source are merged per element
+ * and published again with the delivered event.</p>
+ *
+ * @author Andres Almiray
+ */
+final class JavaFXThreadProxyEventList<E> extends TransformedList<E, E> implements RandomAccess {
+    private final ThreadProxyPolicy policy;
+    private final PulseTimer pulseTimer;
+    private final Consumer<Runnable> scheduler;
+    private final Consumer<Runnable> urgentScheduler;
+    private volatile List<E> localCache;
+
+    // merges the changes of the source until they are delivered
+    private final ListEventAssembler<E> pendingChanges;
+
+    // the following fields are guarded by the write lock
+    private boolean scheduled;
+    private boolean urgent;
+    private boolean collapsed;
+    private boolean pendingEventOpen;
+    private int pendingSize;
+    private int mergedChanges;
+    // the changed properties of updated elements, null when unknown
+    private final Map<Object, Set<String>> pendingProperties = new IdentityHashMap<>();
+
+    /**
+     * Create a {@link JavaFXThreadProxyEventList} which delivers changes to the
+     * given <code>source</code> on the JavaFX application thread.
+     *
+     * @param source the {@link EventList} for which to proxy events
+     * @param policy the policy that defines when changes are delivered
+     */
+    JavaFXThreadProxyEventList(@Nonnull EventList<E> source, @Nonnull ThreadProxyPolicy policy) {
+        super(source);
+        this.policy = requireNonNull(policy, "Argument 'policy' must not be null");
+        if (policy.isPerPulse()) {
+            PulseTimer pulseTimer = new PulseTimer(policy.getMaxFlushRate(), this::flush);
+            this.pulseTimer = pulseTimer;
+            this.scheduler = flush -> pulseTimer.schedule();
+        } else {
+            this.pulseTimer = null;
+            this.scheduler = flush -> {
+                if (Platform.isFxApplicationThread()) {
+                    flush.run();
+                } else {
+                    Platform.runLater(flush);
+                }
+            };
+        }
+        this.urgentScheduler = Platform::runLater;
+        this.localCache = new ArrayList<>(source);
+        this.pendingChanges = new ListEventAssembler<>(this, ListEventAssembler.createListEventPublisher());
+        this.pendingChanges.addListEventListener(this::deliver);
+        source.addListEventListener(this);
+    }
+
+    // visible for testing, the schedulers are handed the flush of pending changes
+    JavaFXThreadProxyEventList(@Nonnull EventList<E> source, @Nonnull ThreadProxyPolicy policy, @Nonnull Consumer<Runnable> scheduler, @Nonnull Consumer<Runnable> urgentScheduler) {
+        super(source);
+        this.policy = requireNonNull(policy, "Argument 'policy' must not be null");
+        this.pulseTimer = null;
+        this.scheduler = requireNonNull(scheduler, "Argument 'scheduler' must not be null");
+        this.urgentScheduler = requireNonNull(urgentScheduler, "Argument 'urgentScheduler' must not be null");
+        this.localCache = new ArrayList<>(source);
+        this.pendingChanges = new ListEventAssembler<>(this, ListEventAssembler.createListEventPublisher());
+        this.pendingChanges.addListEventListener(this::deliver);
+        source.addListEventListener(this);
+    }
+
+    @Nonnull
+    ThreadProxyPolicy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public int size() {
+        return localCache.size();
+    }
+
+    @Override
+    public E get(int index) {
+        return localCache.get(index);
+    }
+
+    @Override
+    protected boolean isWritable() {
+        return true;
+    }
+
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        mergedChanges++;
+        if (!collapsed) {
+            while (listChanges.nextBlock()) {
+                pendingSize += listChanges.getBlockEndIndex() - listChanges.getBlockStartIndex() + 1;
+                if (listChanges.getType() == UPDATE) {
+                    for (int i = listChanges.getBlockStartIndex(); i <= listChanges.getBlockEndIndex(); i++) {
+                        mergeChangedProperties(source.get(i));
+                    }
+                }
+            }
+            listChanges.reset();
+
+            int resetThreshold = policy.getResetThreshold();
+            if (resetThreshold > 0 && pendingSize > resetThreshold) {
+                // the next flush reloads the whole list, there is no need to keep track of changes anymore
+                collapsed = true;
+            } else {
+                if (!pendingEventOpen) {
+                    pendingEventOpen = true;
+                    pendingChanges.beginEvent(true);
+                }
+                pendingChanges.forwardEvent(listChanges);
+            }
+        }
+
+        if (!scheduled) {
+            scheduled = true;
+            scheduler.accept(this::flush);
+        }
+
+        int maxPendingChanges = policy.getMaxPendingChanges();
+        if (maxPendingChanges > 0 && pendingSize > maxPendingChanges && !urgent) {
+            urgent = true;
+            urgentScheduler.accept(this::flush);
+        }
+    }
+
+    private void mergeChangedProperties(E element) {
+        Set<String> changed = ChangedProperties.of(element);
+        if (changed == null) {
+            // the element has changed entirely, whatever changes were recorded before or come later
+            pendingProperties.put(element, null);
+        } else if (!pendingProperties.containsKey(element)) {
+            pendingProperties.put(element, new HashSet<>(changed));
+        } else {
+            Set<String> pending = pendingProperties.get(element);
+            if (pending != null) {
+                pending.addAll(changed);
+            }
+        }
+    }
+
+    private void flush() {
+        int changes;
+        boolean reset;
+        getReadWriteLock().writeLock().lock();
+        try {
+            if (!scheduled) {
+                return;
+            }
+
+            changes = mergedChanges;
+            reset = collapsed;
+            scheduled = false;
+            urgent = false;
+            collapsed = false;
+            mergedChanges = 0;
+            pendingSize = 0;
+
+            if (reset) {
+                reload();
+                if (pendingEventOpen) {
+                    // discarded once the local copy is up to date, as the next event is based on its size
+                    pendingEventOpen = false;
+                    pendingChanges.discardEvent();
+                }
+            } else if (pendingEventOpen) {
+                pendingEventOpen = false;
+                if (pendingProperties.isEmpty()) {
+                    pendingChanges.commitEvent();
+                } else {
+                    ChangedProperties.publish(pendingProperties, pendingChanges::commitEvent);
+                }
+            }
+            pendingProperties.clear();
+        } finally {
+            getReadWriteLock().writeLock().unlock();
+        }
+
+        ThreadProxyPolicy.FlushListener flushListener = policy.getFlushListener();
+        if (flushListener != null) {
+            flushListener.flushed(changes, reset);
+        }
+    }
+
+    /**
+     * Applies the merged changes to the local copy, before forwarding them downstream so that
+     * listeners observe the new state.
+     */
+    private void deliver(@Nonnull ListEvent<E> listChanges) {
+        List<E> previous = localCache;
+        List<E> current = new ArrayList<>(source.size());
+        int previousIndex = 0;
+        while (listChanges.next()) {
+            int index = listChanges.getIndex();
+            while (current.size() < index) {
+                current.add(previous.get(previousIndex++));
+            }
+
+            int type = listChanges.getType();
+            if (type != INSERT) {
+                previousIndex++;
+            }
+            if (type != DELETE) {
+                current.add(source.get(index));
+            }
+        }
+        listChanges.reset();
+        while (previousIndex < previous.size()) {
+            current.add(previous.get(previousIndex++));
+        }
+
+        localCache = current;
+        updates.forwardEvent(listChanges);
+    }
+
+    /**
+     * Replaces the local copy with the source's current contents, publishing a single change
+     * that removes every previous element and inserts every current one.
+     */
+    private void reload() {
+        List<E> previous = localCache;
+        localCache = new ArrayList<>(source);
+
+        updates.beginEvent(true);
+        for (E element : previous) {
+            updates.elementDeleted(0, element);
+        }
+        for (int i = 0, n = localCache.size(); i < n; i++) {
+            updates.elementInserted(i, localCache.get(i));
+        }
+        updates.commitEvent();
+    }
+
+    @Override
+    public void dispose() {
+        if (pulseTimer != null) {
+            pulseTimer.dispose();
+        }
+        super.dispose();
+    }
+}
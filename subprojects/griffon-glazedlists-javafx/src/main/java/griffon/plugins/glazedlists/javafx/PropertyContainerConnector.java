@@ -15,43 +15,76 @@
  */
 package griffon.plugins.glazedlists.javafx;
 
-import ca.odell.glazedlists.ObservableElementList;
 import javafx.beans.property.Property;
 import javafx.beans.value.ChangeListener;
-import javafx.beans.value.ObservableValue;
 
 import javax.annotation.Nonnull;
-import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.EventListener;
-
-import static java.util.Arrays.binarySearch;
-import static java.util.Arrays.copyOf;
-import static java.util.Arrays.sort;
-import static java.util.Objects.requireNonNull;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
+ * Observes the properties of {@link PropertyContainer} elements. The positions of the matching
+ * properties in {@link PropertyContainer#properties()} are computed once per element class, and
+ * a single listener, shared by all elements, resolves the changed element from the property's
+ * bean. Elements whose matching properties are not laid out like the first element of their
+ * class, or do not report the element as their bean, get a listener of their own.
+ * <p>
+ * <p>Changes are reported right away, or coalesced when the connector is created with a
+ * {@link ThreadProxyPolicy}, see {@link AbstractElementConnector}.</p>
+ *
  * @author Andres Almiray
  */
-public class PropertyContainerConnector<T extends PropertyContainer> implements ObservableElementList.Connector<T> {
+public class PropertyContainerConnector<T extends PropertyContainer> extends AbstractElementConnector<T> {
     private static final String[] EMPTY_STRING_ARRAY = new String[0];
-    private ObservableElementList<? extends PropertyContainer> list;
-    private final String[] propertyNames;
+    private final Map<Class<?>, PropertySlots> slots = new ConcurrentHashMap<>();
 
     public PropertyContainerConnector() {
-        this.propertyNames = EMPTY_STRING_ARRAY;
+        super(EMPTY_STRING_ARRAY);
     }
 
     public PropertyContainerConnector(@Nonnull String[] propertyNames) {
-        requireNonNull(propertyNames, "Argument 'propertyNames' must not be null");
-        this.propertyNames = copyOf(propertyNames, propertyNames.length);
-        sort(this.propertyNames);
+        super(propertyNames);
+    }
+
+    /**
+     * Creates a connector that coalesces the changes of the given properties until the
+     * given policy delivers them. All properties are observed when no names are given.
+     *
+     * @param propertyNames the names of the properties to observe. Must not be null.
+     * @param policy        defines when changed elements are reported. Must not be null.
+     */
+    public PropertyContainerConnector(@Nonnull String[] propertyNames, @Nonnull ThreadProxyPolicy policy) {
+        super(propertyNames, policy);
+    }
+
+    // visible for testing, the scheduler is handed the flush of pending changes
+    PropertyContainerConnector(@Nonnull String[] propertyNames, @Nonnull ThreadProxyPolicy policy, @Nonnull Consumer<Runnable> scheduler) {
+        super(propertyNames, policy, scheduler);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public EventListener installListener(T element) {
-        ElementChangeHandler ecl = new ElementChangeHandler<>(element);
-        for (Property<?> property : element.properties()) {
+        Property<?>[] properties = element.properties();
+        PropertySlots propertySlots = slots.get(element.getClass());
+        if (propertySlots == null) {
+            propertySlots = new PropertySlots(properties);
+            slots.put(element.getClass(), propertySlots);
+        }
+
+        if (propertySlots.isSharedBy(element, properties)) {
+            for (int slot : propertySlots.indices) {
+                properties[slot].addListener(sharedHandler);
+            }
+            return sharedHandler;
+        }
+
+        ElementChangeListener<Object> ecl = newElementHandler(element);
+        for (Property<?> property : properties) {
             if (matches(property.getName())) {
                 property.addListener(ecl);
             }
@@ -60,10 +93,19 @@ public class PropertyContainerConnector<T extends PropertyContainer> implements
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void uninstallListener(T element, EventListener listener) {
-        if (listener instanceof ChangeListener) {
-            ChangeListener cl = (ChangeListener) listener;
+        discardChanges(element);
+
+        PropertySlots propertySlots = slots.get(element.getClass());
+        if (listener == sharedHandler && propertySlots != null) {
+            Property<?>[] properties = element.properties();
+            for (int slot : propertySlots.indices) {
+                properties[slot].removeListener(sharedHandler);
+            }
+        } else if (listener instanceof ChangeListener) {
+            // listeners installed by this connector accept values of any type
+            @SuppressWarnings("unchecked")
+            ChangeListener<Object> cl = (ChangeListener<Object>) listener;
             for (Property<?> property : element.properties()) {
                 if (matches(property.getName())) {
                     property.removeListener(cl);
@@ -72,25 +114,42 @@ public class PropertyContainerConnector<T extends PropertyContainer> implements
         }
     }
 
-    private boolean matches(@Nonnull String propertyName) {
-        return propertyNames.length == 0 || binarySearch(propertyNames, propertyName) > -1;
-    }
-
-    @Override
-    public void setObservableElementList(ObservableElementList<? extends T> list) {
-        this.list = list;
-    }
+    /**
+     * The positions and names of the matching properties of a class, taken from its first element.
+     */
+    private final class PropertySlots {
+        private final int length;
+        private final int[] indices;
+        private final String[] names;
 
-    private class ElementChangeHandler<E> implements ElementChangeListener<E> {
-        private final WeakReference<E> element;
+        private PropertySlots(@Nonnull Property<?>[] properties) {
+            List<Integer> matching = new ArrayList<>();
+            for (int i = 0; i < properties.length; i++) {
+                if (matches(properties[i].getName())) {
+                    matching.add(i);
+                }
+            }
 
-        private ElementChangeHandler(@Nonnull E element) {
-            this.element = new WeakReference<>(element);
+            this.length = properties.length;
+            this.indices = new int[matching.size()];
+            this.names = new String[matching.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = matching.get(i);
+                names[i] = properties[indices[i]].getName();
+            }
         }
 
-        @Override
-        public void changed(ObservableValue<? extends E> observable, E oldValue, E newValue) {
-            list.elementChanged(element.get());
+        private boolean isSharedBy(@Nonnull Object element, @Nonnull Property<?>[] properties) {
+            if (properties.length != length) {
+                return false;
+            }
+            for (int i = 0; i < indices.length; i++) {
+                Property<?> property = properties[indices[i]];
+                if (property.getBean() != element || !names[i].equals(property.getName())) {
+                    return false;
+                }
+            }
+            return true;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs a pending flush on a pulse, no sooner than the maximum flush rate allows. The timer
+ * is started by the first flush scheduled while it is idle and stops itself after a pulse
+ * without pending changes.
+ *
+ * @author Andres Almiray
+ */
+final class PulseTimer extends AnimationTimer {
+    private final long minFlushInterval;
+    private final Runnable flush;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean pending;
+    private volatile boolean disposed;
+    private long nextFlush;
+
+    PulseTimer(double maxFlushRate, @Nonnull Runnable flush) {
+        this.minFlushInterval = maxFlushRate > 0 ? (long) (1_000_000_000L / maxFlushRate) : 0L;
+        this.flush = requireNonNull(flush, "Argument 'flush' must not be null");
+    }
+
+    void schedule() {
+        pending = true;
+        if (!disposed && running.compareAndSet(false, true)) {
+            if (Platform.isFxApplicationThread()) {
+                start();
+            } else {
+                Platform.runLater(this::start);
+            }
+        }
+    }
+
+    @Override
+    public void handle(long now) {
+        if (pending && !disposed) {
+            if (now >= nextFlush) {
+                pending = false;
+                nextFlush = now + minFlushInterval;
+                flush.run();
+            }
+            return;
+        }
+
+        stop();
+        running.set(false);
+        // a flush may have been scheduled after the check above, while the timer was still running
+        if (pending && !disposed && running.compareAndSet(false, true)) {
+            start();
+        }
+    }
+
+    void dispose() {
+        disposed = true;
+        if (Platform.isFxApplicationThread()) {
+            stop();
+        } else {
+            Platform.runLater(this::stop);
+        }
+    }
+}
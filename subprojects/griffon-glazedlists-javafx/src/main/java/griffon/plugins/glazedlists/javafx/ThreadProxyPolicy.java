@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static griffon.util.GriffonClassUtils.requireState;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Defines when a list created with {@link GlazedListsJavaFX#createJavaFXThreadProxyList(ca.odell.glazedlists.EventList, ThreadProxyPolicy)}
+ * delivers the changes of its source on the JavaFX application thread, and how it copes with
+ * sources that change faster than the JavaFX application thread can keep up with. Instances are immutable.
+ * <p>
+ * <p>Changes are kept pending until they are delivered, merged into a single event. The following
+ * limits apply to that backlog, measured as the number of inserted, updated and deleted elements:</p>
+ * <ul>
+ * <li>{@link #withMaxFlushRate(double)} spaces flushes at least {@code 1 / rate} seconds apart.</li>
+ * <li>{@link #withMaxPendingChanges(int)} requests a flush as soon as possible once the backlog exceeds
+ * the given budget, disregarding the flush rate and waiting for a pulse.</li>
+ * <li>{@link #withResetThreshold(int)} discards the backlog once it exceeds the given threshold.
+ * The next flush then reloads the whole list and publishes a single change that replaces every
+ * element, a burst costs the same regardless of how many changes it made.</li>
+ * </ul>
+ *
+ * @author Andres Almiray
+ */
+public final class ThreadProxyPolicy {
+    private static final ThreadProxyPolicy IMMEDIATE = new ThreadProxyPolicy(false, 0d, 0, 0, null);
+    private static final ThreadProxyPolicy PER_PULSE = new ThreadProxyPolicy(true, 0d, 0, 0, null);
+
+    private final boolean perPulse;
+    private final double maxFlushRate;
+    private final int maxPendingChanges;
+    private final int resetThreshold;
+    private final FlushListener flushListener;
+
+    private ThreadProxyPolicy(boolean perPulse, double maxFlushRate, int maxPendingChanges, int resetThreshold, @Nullable FlushListener flushListener) {
+        this.perPulse = perPulse;
+        this.maxFlushRate = maxFlushRate;
+        this.maxPendingChanges = maxPendingChanges;
+        this.resetThreshold = resetThreshold;
+        this.flushListener = flushListener;
+    }
+
+    /**
+     * Pending changes are delivered as soon as possible with {@link javafx.application.Platform#runLater(Runnable)},
+     * or right away when the source is changed on the JavaFX application thread. This is the default policy.
+     */
+    @Nonnull
+    public static ThreadProxyPolicy immediate() {
+        return IMMEDIATE;
+    }
+
+    /**
+     * Pending changes are merged and delivered at most once per JavaFX pulse, right before the
+     * scene is rendered, by an {@link javafx.animation.AnimationTimer}. Changes made on the JavaFX
+     * application thread are deferred until the next pulse as well.
+     */
+    @Nonnull
+    public static ThreadProxyPolicy perPulse() {
+        return PER_PULSE;
+    }
+
+    /**
+     * Returns a copy of this policy that delivers pending changes at most {@code flushesPerSecond}
+     * times per second. Flushes are aligned to JavaFX pulses, as with {@link #perPulse()}.
+     *
+     * @param flushesPerSecond the maximum flush rate. Must be positive.
+     */
+    @Nonnull
+    public ThreadProxyPolicy withMaxFlushRate(double flushesPerSecond) {
+        requireState(flushesPerSecond > 0, "Argument 'flushesPerSecond' must be positive");
+        return new ThreadProxyPolicy(true, flushesPerSecond, maxPendingChanges, resetThreshold, flushListener);
+    }
+
+    /**
+     * Returns a copy of this policy that delivers pending changes as soon as possible once more
+     * than {@code maxPendingChanges} elements have changed since the last flush.
+     *
+     * @param maxPendingChanges the budget of pending changes. Must be positive.
+     */
+    @Nonnull
+    public ThreadProxyPolicy withMaxPendingChanges(int maxPendingChanges) {
+        requireState(maxPendingChanges > 0, "Argument 'maxPendingChanges' must be positive");
+        return new ThreadProxyPolicy(perPulse, maxFlushRate, maxPendingChanges, resetThreshold, flushListener);
+    }
+
+    /**
+     * Returns a copy of this policy that collapses the pending changes into a full reload once
+     * more than {@code resetThreshold} elements have changed since the last flush.
+     *
+     * @param resetThreshold the size of the backlog that triggers a reset. Must be positive.
+     */
+    @Nonnull
+    public ThreadProxyPolicy withResetThreshold(int resetThreshold) {
+        requireState(resetThreshold > 0, "Argument 'resetThreshold' must be positive");
+        return new ThreadProxyPolicy(perPulse, maxFlushRate, maxPendingChanges, resetThreshold, flushListener);
+    }
+
+    /**
+     * Returns a copy of this policy that reports every flush to the given listener.
+     *
+     * @param flushListener the listener to be notified. Must not be null.
+     */
+    @Nonnull
+    public ThreadProxyPolicy withFlushListener(@Nonnull FlushListener flushListener) {
+        requireNonNull(flushListener, "Argument 'flushListener' must not be null");
+        return new ThreadProxyPolicy(perPulse, maxFlushRate, maxPendingChanges, resetThreshold, flushListener);
+    }
+
+    public boolean isPerPulse() {
+        return perPulse;
+    }
+
+    /**
+     * @return the maximum number of flushes per second, {@code 0} if unlimited.
+     */
+    public double getMaxFlushRate() {
+        return maxFlushRate;
+    }
+
+    /**
+     * @return the budget of pending changes, {@code 0} if unlimited.
+     */
+    public int getMaxPendingChanges() {
+        return maxPendingChanges;
+    }
+
+    /**
+     * @return the size of the backlog that triggers a reset, {@code 0} if disabled.
+     */
+    public int getResetThreshold() {
+        return resetThreshold;
+    }
+
+    @Nullable
+    public FlushListener getFlushListener() {
+        return flushListener;
+    }
+
+    /**
+     * Receives the metrics of every flush performed by a thread proxy list.
+     */
+    public interface FlushListener {
+        /**
+         * Invoked on the JavaFX application thread after pending changes have been delivered.
+         *
+         * @param mergedChanges the number of changes of the source that were merged into the delivered change
+         * @param reset         whether the backlog had been collapsed and the whole list was reloaded
+         */
+        void flushed(int mergedChanges, boolean reset);
+    }
+}
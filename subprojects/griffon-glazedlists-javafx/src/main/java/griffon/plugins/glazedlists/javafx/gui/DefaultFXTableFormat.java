@@ -16,6 +16,7 @@
 package griffon.plugins.glazedlists.javafx.gui;
 
 import griffon.plugins.glazedlists.ColumnReader;
+import griffon.plugins.glazedlists.gui.ColumnProperties;
 import javafx.beans.value.ObservableValue;
 
 import javax.annotation.Nonnull;
@@ -32,24 +33,27 @@ import static java.util.Objects.requireNonNull;
  *
  * @author Andres Almiray
  */
-public class DefaultFXTableFormat<E> implements FXTableFormat<E> {
+public class DefaultFXTableFormat<E> implements FXTableFormat<E>, ColumnProperties {
     private static final String ERROR_COLUMN_NAMES_NULL = "Argument 'columnNames' must not be null.";
 
     protected final String[] columnNames;
     protected final String[] columnTitles;
     protected final ColumnReader[] columnReaders;
     protected final TableCellFactory[] tableCellFactories;
+    private final String[] columnPropertyNames;
 
     private static final String NAME = "name";
     private static final String TITLE = "title";
     private static final String READER = "reader";
     private static final String TABLE_CELL_FACTORY = "tableCellFactory";
+    private static final String PROPERTY = "property";
 
     public DefaultFXTableFormat(@Nonnull String[] columnNames) {
         this.columnNames = requireNonNull(columnNames, ERROR_COLUMN_NAMES_NULL);
         this.columnTitles = new String[columnNames.length];
         this.columnReaders = new ColumnReader[columnNames.length];
         this.tableCellFactories = new TableCellFactory[columnNames.length];
+        this.columnPropertyNames = new String[columnNames.length];
 
         for (int i = 0; i < columnNames.length; i++) {
             columnTitles[i] = getNaturalName(columnNames[i]);
@@ -63,6 +67,7 @@ public class DefaultFXTableFormat<E> implements FXTableFormat<E> {
         this.columnTitles = requireNonNull(columnTitles, "Argument 'columnTitles' must not be null");
         this.columnReaders = requireNonNull(columnReaders, "Argument 'columnReaders' must not be nul");
         this.tableCellFactories = new TableCellFactory[columnNames.length];
+        this.columnPropertyNames = new String[columnNames.length];
 
         requireState(columnNames.length == columnTitles.length,
             "Arguments 'columNames' and 'columnTitles' have different cardinality. " + columnNames.length + " != " + columnTitles.length);
@@ -77,7 +82,8 @@ public class DefaultFXTableFormat<E> implements FXTableFormat<E> {
     /**
      * Creates a {@code FXTableFormat} based on the supplied options.
      * <p>
-     * Valid option keys are <tt>name</tt>, <tt>title</tt> and <tt>reader</tt>.
+     * Valid option keys are <tt>name</tt>, <tt>title</tt>, <tt>reader</tt>, <tt>tableCellFactory</tt>
+     * and <tt>property</tt>.
      * </p>
      *
      * @param options the options that configure this format
@@ -90,6 +96,7 @@ public class DefaultFXTableFormat<E> implements FXTableFormat<E> {
         this.columnTitles = new String[options.length];
         this.columnReaders = new ColumnReader[options.length];
         this.tableCellFactories = new TableCellFactory[options.length];
+        this.columnPropertyNames = new String[options.length];
 
         int i = 0;
         for (Options opts : options) {
@@ -102,6 +109,8 @@ public class DefaultFXTableFormat<E> implements FXTableFormat<E> {
                     columnReaders[i] = (ColumnReader) opt.value;
                 } else if (TABLE_CELL_FACTORY.equalsIgnoreCase(opt.name)) {
                     tableCellFactories[i] = (TableCellFactory) opt.value;
+                } else if (PROPERTY.equalsIgnoreCase(opt.name)) {
+                    columnPropertyNames[i] = String.valueOf(opt.value);
                 }
             }
 
@@ -122,7 +131,8 @@ public class DefaultFXTableFormat<E> implements FXTableFormat<E> {
     /**
      * Creates a {@code FXTableFormat} based on the supplied options.
      * <p>
-     * Valid option keys are <tt>name</tt>, <tt>title</tt> and <tt>reader</tt>.
+     * Valid option keys are <tt>name</tt>, <tt>title</tt>, <tt>reader</tt>, <tt>tableCellFactory</tt>
+     * and <tt>property</tt>.
      * </p>
      *
      * @param options the options that configure this format
@@ -135,6 +145,7 @@ public class DefaultFXTableFormat<E> implements FXTableFormat<E> {
         this.columnTitles = new String[options.size()];
         this.columnReaders = new ColumnReader[options.size()];
         this.tableCellFactories = new TableCellFactory[options.size()];
+        this.columnPropertyNames = new String[options.size()];
 
         int i = 0;
         for (Map<String, Object> op : options) {
@@ -163,6 +174,10 @@ public class DefaultFXTableFormat<E> implements FXTableFormat<E> {
                 tableCellFactories[i] = TableCellFactory.DEFAULT_EDITABLE;
             }
 
+            if (op.containsKey(PROPERTY) && !isBlank(String.valueOf(op.get(PROPERTY)))) {
+                columnPropertyNames[i] = String.valueOf(op.get(PROPERTY));
+            }
+
             i++;
         }
     }
@@ -194,4 +209,13 @@ public class DefaultFXTableFormat<E> implements FXTableFormat<E> {
     public TableCellFactory getTableCellFactory(int column) {
         return tableCellFactories[column];
     }
+
+    /**
+     * Returns the property given by the <tt>property</tt> option of the column, as only the
+     * column's definition knows whether its value depends on other state of the element.
+     */
+    @Override
+    public String getColumnPropertyName(int column) {
+        return columnPropertyNames[column];
+    }
 }
@@ -16,6 +16,7 @@
 package griffon.plugins.glazedlists.javafx.gui;
 
 import griffon.plugins.glazedlists.ColumnWriter;
+import javafx.beans.property.Property;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -31,6 +32,6 @@ public class DefaultJavaFXColumnWriter<E> implements ColumnWriter<E> {
     @Override
     @SuppressWarnings("unchecked")
     public void setValue(@Nonnull E baseObject, @Nonnull String columnName, int columnIndex, @Nullable Object value) {
-        getProperty(baseObject, columnName).setValue(value);
+        ((Property<Object>) getProperty(baseObject, columnName)).setValue(value);
     }
 }
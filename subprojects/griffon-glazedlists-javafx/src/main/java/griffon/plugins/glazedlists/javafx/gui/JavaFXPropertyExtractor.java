@@ -19,41 +19,103 @@ import griffon.exceptions.InstanceMethodInvocationException;
 import javafx.beans.property.Property;
 
 import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static griffon.util.GriffonClassUtils.getGetterName;
-import static griffon.util.GriffonClassUtils.invokeExactInstanceMethod;
 import static griffon.util.GriffonNameUtils.requireNonBlank;
+import static griffon.util.MethodUtils.getAccessibleMethod;
 import static java.util.Objects.requireNonNull;
 
 /**
+ * Resolves the JavaFX property of a bean, looking for a {@code <name>Property()} method first
+ * and {@code get<Name>Property()} second. The method is resolved once per class and property
+ * name, as are classes that provide neither.
+ *
  * @author Andres Almiray
  */
 final class JavaFXPropertyExtractor {
     private static final String PROPERTY_SUFFIX = "Property";
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final Class<?>[] NO_PARAMETERS = new Class<?>[0];
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    // an empty accessor records that the class has no such property
+    private static final ClassValue<ConcurrentMap<String, Optional<Accessor>>> ACCESSORS = new ClassValue<ConcurrentMap<String, Optional<Accessor>>>() {
+        @Override
+        protected ConcurrentMap<String, Optional<Accessor>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     @Nonnull
-    @SuppressWarnings("ConstantConditions")
-    public static <B> Property getProperty(@Nonnull B bean, @Nonnull String propertyName) {
+    public static <B> Property<?> getProperty(@Nonnull B bean, @Nonnull String propertyName) {
         requireNonNull(bean, "Argument 'bean' must not be null");
         requireNonBlank(propertyName, "Argument 'propertyName' must not be null");
 
-        if (!propertyName.endsWith(PROPERTY_SUFFIX)) {
-            propertyName += PROPERTY_SUFFIX;
+        ConcurrentMap<String, Optional<Accessor>> accessors = ACCESSORS.get(bean.getClass());
+        Optional<Accessor> accessor = accessors.get(propertyName);
+        if (accessor == null) {
+            accessor = resolveAccessor(bean.getClass(), propertyName);
+            accessors.putIfAbsent(propertyName, accessor);
         }
 
-        InstanceMethodInvocationException imie;
-        try {
-            // 1. try <columnName>Property() first
-            return (Property<?>) invokeExactInstanceMethod(bean, propertyName);
-        } catch (InstanceMethodInvocationException e) {
-            imie = e;
+        if (!accessor.isPresent()) {
+            throw new InstanceMethodInvocationException(bean, methodName(propertyName), NO_ARGS);
+        }
+        return accessor.get().invoke(bean);
+    }
+
+    @Nonnull
+    private static String methodName(@Nonnull String propertyName) {
+        return propertyName.endsWith(PROPERTY_SUFFIX) ? propertyName : propertyName + PROPERTY_SUFFIX;
+    }
+
+    @Nonnull
+    private static Optional<Accessor> resolveAccessor(@Nonnull Class<?> type, @Nonnull String propertyName) {
+        String methodName = methodName(propertyName);
+
+        // 1. try <columnName>Property() first
+        Method method = getAccessibleMethod(type, methodName, NO_PARAMETERS);
+        if (method == null) {
+            // 2. fallback to get<columnName>Property()
+            method = getAccessibleMethod(type, getGetterName(methodName), NO_PARAMETERS);
+        }
+        if (method == null) {
+            return Optional.empty();
         }
 
-        // 2. fallback to get<columnName>Property()
         try {
-            return (Property<?>) invokeExactInstanceMethod(bean, getGetterName(propertyName));
-        } catch (InstanceMethodInvocationException e) {
-            throw imie;
+            return Optional.of(new Accessor(method.getName(), MethodHandles.publicLookup().unreflect(method).asType(ACCESSOR_TYPE)));
+        } catch (IllegalAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static final class Accessor {
+        private final String methodName;
+        private final MethodHandle handle;
+
+        private Accessor(@Nonnull String methodName, @Nonnull MethodHandle handle) {
+            this.methodName = methodName;
+            this.handle = handle;
+        }
+
+        @Nonnull
+        @SuppressWarnings("ConstantConditions")
+        private Property<?> invoke(@Nonnull Object bean) {
+            Object property;
+            try {
+                property = handle.invokeExact(bean);
+            } catch (Throwable t) {
+                throw new InstanceMethodInvocationException(bean, methodName, NO_ARGS, t);
+            }
+            return (Property<?>) property;
         }
     }
 }
@@ -37,10 +37,12 @@ public class DefaultFXTableViewModel<E> implements FXTableViewModel<E> {
     private final ObservableList<E> source;
     private final FXTableFormat<? super E> format;
     private final Collection<TableColumn<E, ?>> columns = new ArrayList<>();
+    private final ObservableValueCache<E> cellValues;
 
     public DefaultFXTableViewModel(@Nonnull ObservableList<E> source, @Nonnull FXTableFormat<? super E> format) {
         this.source = requireNonNull(source, "Argument 'source' must not be null");
         this.format = requireNonNull(format, "Argument 'format' must not be null");
+        this.cellValues = new ObservableValueCache<>(source, ObservableValueCache.columnProperties(format), format::getColumnObservableValue, value -> { });
         computeColumns();
     }
 
@@ -65,7 +67,7 @@ public class DefaultFXTableViewModel<E> implements FXTableViewModel<E> {
 
     @SuppressWarnings("unchecked")
     protected <T> void processTableFormat(@Nonnull TableColumn<E, T> column, String columnName, int columnIndex) {
-        column.setCellValueFactory(cell -> (ObservableValue<T>) format.getColumnObservableValue(cell.getValue(), columnIndex));
+        column.setCellValueFactory(cell -> (ObservableValue<T>) cellValues.get(cell.getValue(), columnIndex));
         column.setCellFactory(param -> format.getTableCellFactory(columnIndex).createTableCell(param));
     }
 
@@ -38,39 +38,26 @@ public class DefaultTableViewModel<E> implements TableViewModel<E> {
     private final ObservableList<E> source;
     private final TableFormat<E> format;
     private final Collection<TableColumn<E, Object>> columns = new ArrayList<>();
+    private final ObservableValueCache<E> cellValues;
 
     public DefaultTableViewModel(@Nonnull ObservableList<E> source, @Nonnull TableFormat<E> format) {
         this.source = requireNonNull(source, "Argument 'source' must not be null");
         this.format = requireNonNull(format, "Argument 'format' must not be null");
+        this.cellValues = new ObservableValueCache<>(source, ObservableValueCache.columnProperties(format), CellValue::new,
+            value -> ((DefaultTableViewModel<?>.CellValue) value).fireValueChangedEvent());
         computeColumns();
     }
 
     private void computeColumns() {
         for (int i = 0; i < format.getColumnCount(); i++) {
-            final String columnName = format.getColumnName(i);
-            TableColumn<E, Object> column = new TableColumn<>(columnName);
+            TableColumn<E, Object> column = new TableColumn<>(format.getColumnName(i));
 
             final int columnIndex = i;
             column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<E, Object>, ObservableValue<Object>>() {
                 @Override
                 @SuppressWarnings("unchecked")
-                public ObservableValue<Object> call(final TableColumn.CellDataFeatures<E, Object> cell) {
-                    return new ReadOnlyObjectPropertyBase<Object>() {
-                        @Override
-                        public Object get() {
-                            return format.getColumnValue(cell.getValue(), columnIndex);
-                        }
-
-                        @Override
-                        public Object getBean() {
-                            return cell.getValue();
-                        }
-
-                        @Override
-                        public String getName() {
-                            return columnName;
-                        }
-                    };
+                public ObservableValue<Object> call(TableColumn.CellDataFeatures<E, Object> cell) {
+                    return (ObservableValue<Object>) cellValues.get(cell.getValue(), columnIndex);
                 }
             });
 
@@ -101,4 +88,37 @@ public class DefaultTableViewModel<E> implements TableViewModel<E> {
         tableView.setItems(FXCollections.<E>emptyObservableList());
         tableView.getColumns().removeAll(columns);
     }
+
+    /**
+     * The value of a cell, read from the format on every call to {@link #get()}.
+     */
+    private final class CellValue extends ReadOnlyObjectPropertyBase<Object> {
+        private final E element;
+        private final int column;
+
+        private CellValue(E element, int column) {
+            this.element = element;
+            this.column = column;
+        }
+
+        @Override
+        public Object get() {
+            return format.getColumnValue(element, column);
+        }
+
+        @Override
+        public Object getBean() {
+            return element;
+        }
+
+        @Override
+        public String getName() {
+            return format.getColumnName(column);
+        }
+
+        @Override
+        protected void fireValueChangedEvent() {
+            super.fireValueChangedEvent();
+        }
+    }
 }
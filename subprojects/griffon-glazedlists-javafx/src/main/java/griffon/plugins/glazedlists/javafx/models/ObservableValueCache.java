@@ -0,0 +1,213 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx.models;
+
+import ca.odell.glazedlists.gui.TableFormat;
+import griffon.plugins.glazedlists.ChangedProperties;
+import griffon.plugins.glazedlists.gui.ColumnProperties;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+
+import javax.annotation.Nonnull;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static griffon.util.GriffonClassUtils.requireState;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Caches the observable values of the cells of a table, by row element and column, so that
+ * refreshing cells of rows that have not changed does not create new observable values.
+ * The values of a row are evicted when the row is updated or removed from the source list.
+ * Updates that publish {@link ChangedProperties} evict the values of the columns that read
+ * a changed property only.
+ * <p>
+ * <p>Only the rows read most recently are kept, a few more than a table shows at once, so that
+ * scrolling through a large list does not keep the values of every row it went past. Values
+ * read while the source notifies its listeners of a change, before this cache has been notified
+ * of it, are not cached, so the order in which the source notifies its listeners does not matter.</p>
+ *
+ * @author Andres Almiray
+ */
+final class ObservableValueCache<E> implements ListChangeListener<E>, InvalidationListener {
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private final Map<E, Row<E>> rows = new IdentityHashMap<>();
+    // the most recently read row follows it, the least recently read row precedes it
+    private final Row<E> head = new Row<>(null, 0);
+    private final int capacity;
+    private final ObservableList<E> source;
+    // the property read by each column, null when unknown
+    private final String[] columnProperties;
+    private final CellValueFactory<E> factory;
+    private final Consumer<ObservableValue<?>> evicted;
+    // whether the source changed and this cache has not been notified of the change yet
+    private boolean changing;
+
+    ObservableValueCache(@Nonnull ObservableList<E> source, @Nonnull String[] columnProperties, @Nonnull CellValueFactory<E> factory, @Nonnull Consumer<ObservableValue<?>> evicted) {
+        this(source, columnProperties, factory, evicted, DEFAULT_CAPACITY);
+    }
+
+    ObservableValueCache(@Nonnull ObservableList<E> source, @Nonnull String[] columnProperties, @Nonnull CellValueFactory<E> factory, @Nonnull Consumer<ObservableValue<?>> evicted, int capacity) {
+        requireState(capacity > 0, "Argument 'capacity' must be positive");
+        this.capacity = capacity;
+        this.source = requireNonNull(source, "Argument 'source' must not be null");
+        this.columnProperties = requireNonNull(columnProperties, "Argument 'columnProperties' must not be null");
+        this.factory = requireNonNull(factory, "Argument 'factory' must not be null");
+        this.evicted = requireNonNull(evicted, "Argument 'evicted' must not be null");
+        // the source may outlive the table view model that owns this cache
+        source.addListener(new WeakListChangeListener<>(this));
+        // invalidation listeners are notified before any change listener
+        source.addListener(new WeakInvalidationListener(this));
+        head.previous = head;
+        head.next = head;
+    }
+
+    ObservableValue<?> get(E element, int column) {
+        if (changing) {
+            // the cached values of the row may be about to be evicted
+            return factory.create(element, column);
+        }
+
+        Row<E> row = rows.get(element);
+        if (row == null) {
+            row = new Row<>(element, columnProperties.length);
+            rows.put(element, row);
+            if (rows.size() > capacity) {
+                Row<E> eldest = head.previous;
+                eldest.unlink();
+                rows.remove(eldest.element);
+            }
+        } else {
+            row.unlink();
+        }
+        row.linkAfter(head);
+
+        ObservableValue<?> value = row.values[column];
+        if (value == null) {
+            value = factory.create(element, column);
+            row.values[column] = value;
+        }
+        return value;
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    @Override
+    public void invalidated(Observable observable) {
+        changing = true;
+    }
+
+    @Override
+    public void onChanged(Change<? extends E> change) {
+        changing = false;
+        while (change.next()) {
+            if (change.wasUpdated()) {
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    E element = source.get(i);
+                    Set<String> changed = ChangedProperties.of(element);
+                    if (changed == null) {
+                        evict(element);
+                    } else {
+                        evict(element, changed);
+                    }
+                }
+            } else if (change.wasRemoved()) {
+                for (E element : change.getRemoved()) {
+                    evict(element);
+                }
+            }
+        }
+    }
+
+    private void evict(E element) {
+        Row<E> row = rows.remove(element);
+        if (row != null) {
+            row.unlink();
+            for (ObservableValue<?> value : row.values) {
+                if (value != null) {
+                    evicted.accept(value);
+                }
+            }
+        }
+    }
+
+    private void evict(E element, @Nonnull Set<String> changed) {
+        Row<E> row = rows.get(element);
+        if (row != null) {
+            ObservableValue<?>[] values = row.values;
+            for (int column = 0; column < values.length; column++) {
+                ObservableValue<?> value = values[column];
+                if (value != null && (columnProperties[column] == null || changed.contains(columnProperties[column]))) {
+                    values[column] = null;
+                    evicted.accept(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the property read by each column of the given format, null for columns that may read anything.
+     */
+    @Nonnull
+    static String[] columnProperties(@Nonnull TableFormat<?> format) {
+        String[] columnProperties = new String[format.getColumnCount()];
+        if (format instanceof ColumnProperties) {
+            for (int i = 0; i < columnProperties.length; i++) {
+                columnProperties[i] = ((ColumnProperties) format).getColumnPropertyName(i);
+            }
+        }
+        return columnProperties;
+    }
+
+    private static final class Row<E> {
+        private final E element;
+        private final ObservableValue<?>[] values;
+        private Row<E> previous;
+        private Row<E> next;
+
+        private Row(E element, int columnCount) {
+            this.element = element;
+            this.values = new ObservableValue<?>[columnCount];
+        }
+
+        private void linkAfter(@Nonnull Row<E> row) {
+            previous = row;
+            next = row.next;
+            next.previous = this;
+            row.next = this;
+        }
+
+        private void unlink() {
+            previous.next = next;
+            next.previous = previous;
+        }
+    }
+
+    @FunctionalInterface
+    interface CellValueFactory<E> {
+        ObservableValue<?> create(E element, int column);
+    }
+}
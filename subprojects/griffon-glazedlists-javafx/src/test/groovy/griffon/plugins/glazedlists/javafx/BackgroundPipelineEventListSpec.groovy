@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx
+
+import ca.odell.glazedlists.EventList
+import ca.odell.glazedlists.FilterList
+import ca.odell.glazedlists.GlazedLists
+import ca.odell.glazedlists.SortedList
+import ca.odell.glazedlists.event.ListEvent
+import ca.odell.glazedlists.event.ListEventListener
+import ca.odell.glazedlists.matchers.Matcher
+import spock.lang.Specification
+
+import java.util.concurrent.Executor
+import java.util.function.Function
+
+/**
+ * @author Andres Almiray
+ */
+class BackgroundPipelineEventListSpec extends Specification {
+    private final Function<EventList<Integer>, EventList<Integer>> evenNumbersSorted = { EventList<Integer> list ->
+        new SortedList<>(new FilterList<>(list, { it % 2 == 0 } as Matcher), GlazedLists.comparableComparator())
+    } as Function
+
+    void 'Output of the pipeline is mirrored by the target list'() {
+        given:
+        EventList<Integer> source = GlazedLists.eventListOf(8, 3, 4, 1)
+        Executor direct = { it.run() } as Executor
+        BackgroundPipelineEventList<Integer, Integer> target = new BackgroundPipelineEventList<>(source, evenNumbersSorted, direct, direct)
+
+        expect:
+        target == [4, 8]
+
+        when:
+        source.add(2)
+        source.add(5)
+        source.set(1, 6)
+        source.remove((Object) 8)
+
+        then:
+        target == [2, 4, 6]
+
+        when:
+        target.add(10)
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    void 'Pending changes are handed over as a single event'() {
+        given:
+        EventList<Integer> source = GlazedLists.eventListOf(8, 3, 4, 1)
+        List<Runnable> workerTasks = []
+        List<Runnable> fxTasks = []
+        BackgroundPipelineEventList<Integer, Integer> target = new BackgroundPipelineEventList<>(source, evenNumbersSorted,
+            { workerTasks << it } as Executor, { fxTasks << it } as Executor)
+        int events = 0
+        target.addListEventListener({ events++ } as ListEventListener)
+
+        when:
+        source.add(2)
+        source.add(6)
+        source.remove(0)
+
+        then:
+        workerTasks.size() == 1
+        fxTasks.empty
+        target == [4, 8]
+
+        when:
+        workerTasks.remove(0).run()
+
+        then:
+        fxTasks.size() == 1
+        target == [4, 8]
+
+        when:
+        source.add(0)
+        workerTasks.remove(0).run()
+        fxTasks.remove(0).run()
+
+        then:
+        fxTasks.empty
+        events == 1
+        target == [0, 2, 4, 6]
+    }
+
+    void 'Reorders are handed over as reorders'() {
+        given:
+        SortedList<Integer> source = new SortedList<>(GlazedLists.eventListOf(8, 3, 4, 1), GlazedLists.comparableComparator())
+        Executor direct = { it.run() } as Executor
+        BackgroundPipelineEventList<Integer, Integer> target = new BackgroundPipelineEventList<>(source, { it } as Function, direct, direct)
+        List<List<Integer>> reorders = []
+        target.addListEventListener({ ListEvent e -> reorders << (e.reordering ? e.reorderMap.toList() : null) } as ListEventListener)
+
+        when:
+        source.comparator = GlazedLists.reverseComparator()
+
+        then:
+        target == [8, 4, 3, 1]
+        reorders == [[3, 2, 1, 0]]
+    }
+
+    void 'Reorders merged with other changes are handed over as updates'() {
+        given:
+        SortedList<Integer> source = new SortedList<>(GlazedLists.eventListOf(8, 3, 4, 1), GlazedLists.comparableComparator())
+        List<Runnable> fxTasks = []
+        BackgroundPipelineEventList<Integer, Integer> target = new BackgroundPipelineEventList<>(source, { it } as Function,
+            { it.run() } as Executor, { fxTasks << it } as Executor)
+        List<Boolean> events = []
+        target.addListEventListener({ ListEvent e -> events << e.reordering } as ListEventListener)
+
+        when:
+        source.add(5)
+        source.comparator = GlazedLists.reverseComparator()
+        source.remove((Object) 1)
+        fxTasks.remove(0).run()
+
+        then:
+        target == [8, 5, 4, 3]
+        events == [false]
+    }
+
+    void 'Disposed lists stop mirroring the pipeline'() {
+        given:
+        EventList<Integer> source = GlazedLists.eventListOf(2)
+        Executor direct = { it.run() } as Executor
+        BackgroundPipelineEventList<Integer, Integer> target = new BackgroundPipelineEventList<>(source, evenNumbersSorted, direct, direct)
+
+        when:
+        target.dispose()
+        source.add(4)
+
+        then:
+        target == [2]
+    }
+}
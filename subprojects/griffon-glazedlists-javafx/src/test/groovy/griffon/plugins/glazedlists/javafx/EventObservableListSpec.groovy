@@ -17,7 +17,11 @@ package griffon.plugins.glazedlists.javafx
 
 import ca.odell.glazedlists.EventList
 import ca.odell.glazedlists.GlazedLists
+import ca.odell.glazedlists.SortedList
+import javafx.beans.InvalidationListener
+import javafx.collections.ListChangeListener
 import spock.lang.Specification
+import spock.lang.Unroll
 
 /**
  * @author Andres Almiray
@@ -61,4 +65,484 @@ class EventObservableListSpec extends Specification {
         then:
         !target.size()
     }
-}
\ No newline at end of file
+
+    void 'Snapshot reads reflect changes published by the source'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3')
+        EventObservableList<String> target = new EventObservableList<>(source, EventObservableList.ReadMode.SNAPSHOT)
+
+        expect:
+        target.size() == 3
+        target.get(1) == '2'
+
+        when:
+        source.remove('2')
+        source.add('4')
+
+        then:
+        target.size() == 3
+        target.get(1) == '3'
+        target.indexOf('4') == 2
+        target.toArray() == ['1', '3', '4'] as Object[]
+    }
+
+    void 'All listeners observe the same Change for a given ListEvent'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3')
+        EventObservableList<String> target = new EventObservableList<>(source)
+        List changes = []
+        List blocks = []
+        3.times {
+            target.addListener({ change ->
+                changes << change
+                while (change.next()) {
+                    blocks << [change.from, change.to, change.wasAdded()]
+                }
+            } as ListChangeListener)
+        }
+
+        when:
+        source.add('4')
+
+        then:
+        changes.size() == 3
+        changes.every { it.is(changes[0]) }
+        blocks == [[3, 4, true]] * 3
+    }
+
+    void 'Reordering events are published as a permutation'() {
+        given:
+        SortedList<String> source = new SortedList<>(GlazedLists.eventListOf('c', 'a', 'b'), null)
+        EventObservableList<String> target = new EventObservableList<>(source)
+        List permutations = []
+        target.addListener({ change ->
+            while (change.next()) {
+                assert change.wasPermutated()
+                assert !change.wasAdded() && !change.wasRemoved()
+                permutations << (change.from..<change.to).collect { change.getPermutation(it) }
+            }
+        } as ListChangeListener)
+
+        when:
+        source.comparator = GlazedLists.comparableComparator()
+
+        then:
+        target == ['a', 'b', 'c']
+        permutations == [[2, 0, 1]]
+    }
+
+    void 'Bulk removal is published as a single range with all removed elements'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3', '4', '5')
+        EventObservableList<String> target = new EventObservableList<>(source)
+        List blocks = []
+        target.addListener({ change ->
+            while (change.next()) {
+                blocks << [change.from, change.to, change.removed, change.wasAdded(), change.wasRemoved()]
+            }
+        } as ListChangeListener)
+
+        when:
+        source.clear()
+
+        then:
+        blocks == [[0, 0, ['1', '2', '3', '4', '5'], false, true]]
+    }
+
+    void 'Deletions followed by insertions at the same index are published as a replacement'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3', '4')
+        EventObservableList<String> target = new EventObservableList<>(source)
+        List blocks = []
+        target.addListener({ change ->
+            while (change.next()) {
+                blocks << [change.from, change.to, change.removed, change.wasReplaced(), change.wasUpdated()]
+            }
+        } as ListChangeListener)
+
+        when:
+        source.updates.beginEvent(true)
+        source.remove(1)
+        source.remove(1)
+        source.add(1, 'a')
+        source.add(2, 'b')
+        source.add(3, 'c')
+        source.set(4, 'd')
+        source.updates.commitEvent()
+
+        then:
+        target == ['1', 'a', 'b', 'c', 'd']
+        blocks == [[1, 4, ['2', '3'], true, false], [4, 5, ['4'], true, false]]
+    }
+
+    void 'Updates that keep the same element are published as updates'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3')
+        EventObservableList<String> target = new EventObservableList<>(source)
+        List blocks = []
+        target.addListener({ change ->
+            while (change.next()) {
+                blocks << [change.from, change.to, change.wasUpdated(), change.wasReplaced()]
+            }
+        } as ListChangeListener)
+
+        when:
+        source.set(1, source.get(1))
+
+        then:
+        blocks == [[1, 2, true, false]]
+    }
+
+    void 'Removing a range of elements notifies listeners once'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3', '4', '5')
+        EventObservableList<String> target = new EventObservableList<>(source)
+        List blocks = []
+        target.addListener({ change ->
+            while (change.next()) {
+                blocks << [change.from, change.to, change.removed]
+            }
+        } as ListChangeListener)
+
+        when:
+        target.remove(1, 4)
+
+        then:
+        source == ['1', '5']
+        blocks == [[1, 1, ['2', '3', '4']]]
+    }
+
+    void 'Setting all elements notifies listeners once with a replacement'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3')
+        EventObservableList<String> target = new EventObservableList<>(source)
+        int invalidations = 0
+        List blocks = []
+        target.addListener({ invalidations++ } as InvalidationListener)
+        target.addListener({ change ->
+            while (change.next()) {
+                blocks << [change.from, change.to, change.removed, change.wasReplaced()]
+            }
+        } as ListChangeListener)
+
+        when:
+        target.setAll('a', 'b', 'c', 'd')
+
+        then:
+        source == ['a', 'b', 'c', 'd']
+        invalidations == 1
+        blocks == [[0, 4, ['1', '2', '3'], true]]
+    }
+
+    void 'Setting all elements reports whether the list changed'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2')
+        EventObservableList<String> target = new EventObservableList<>(source)
+
+        expect:
+        target.setAll([])
+        source.empty
+        !target.setAll([])
+        target.setAll(['a'])
+    }
+
+    void 'Batched mutations notify listeners once'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3')
+        EventObservableList<String> target = new EventObservableList<>(source)
+        int changes = 0
+        List blocks = []
+        target.addListener({ change ->
+            changes++
+            while (change.next()) {
+                blocks << [change.from, change.to, change.removed]
+            }
+        } as ListChangeListener)
+
+        when:
+        target.batch { list ->
+            list.add('4')
+            target.batch { nested -> nested.add('5') }
+            list.remove('1')
+        }
+
+        then:
+        source == ['2', '3', '4', '5']
+        changes == 1
+        blocks == [[0, 0, ['1']], [2, 4, []]]
+    }
+
+    @Unroll
+    void 'Batched mutations combined with a reorder publish the removed elements (#description)'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('c', 'a', 'd')
+        SortedList<String> sorted = new SortedList<>(source, null)
+        EventObservableList<String> target = new EventObservableList<>(sorted)
+        List<String> replica = new ArrayList<>(target)
+        List<Boolean> permutations = []
+        target.addListener({ change ->
+            while (change.next()) {
+                permutations << change.wasPermutated()
+                if (change.wasPermutated()) {
+                    List<String> previous = new ArrayList<>(replica)
+                    (change.from..<change.to).each { replica[change.getPermutation(it)] = previous[it] }
+                } else if (!change.wasUpdated()) {
+                    List<String> removed = replica.subList(change.from, change.from + change.removedSize)
+                    assert change.removed == removed
+                    removed.clear()
+                    replica.addAll(change.from, change.addedSubList)
+                }
+            }
+        } as ListChangeListener)
+
+        when:
+        target.batch { list -> mutations(list, sorted) }
+
+        then:
+        replica == target
+        target == expected
+        permutations == permutated
+
+        where:
+        description                  | mutations                                                                                             || expected                  | permutated
+        'reorder only'               | { l, s -> s.comparator = GlazedLists.comparableComparator() }                                         || ['a', 'c', 'd']           | [true]
+        'reorder then add'           | { l, s -> s.comparator = GlazedLists.comparableComparator(); l.remove('d'); l.add('b') }              || ['a', 'b', 'c']           | [false]
+        'add then reorder'           | { l, s -> l.remove('d'); l.add('b'); s.comparator = GlazedLists.comparableComparator() }              || ['a', 'b', 'c']           | [false]
+        'reorder twice'              | { l, s -> s.comparator = GlazedLists.comparableComparator(); s.comparator = GlazedLists.reverseComparator() } || ['d', 'c', 'a']   | [false]
+    }
+
+    void 'Mutations applied before a batch fails are published'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3')
+        EventObservableList<String> target = new EventObservableList<>(source)
+        int changes = 0
+        target.addListener({ change -> changes++ } as ListChangeListener)
+
+        when:
+        target.batch { list ->
+            list.add('4')
+            throw new IllegalArgumentException()
+        }
+
+        then:
+        thrown(IllegalArgumentException)
+        source == ['1', '2', '3', '4']
+        changes == 1
+
+        when:
+        target.add('5')
+
+        then:
+        changes == 2
+    }
+
+    void 'Ending a change that was not started fails'() {
+        given:
+        EventObservableList<String> target = new EventObservableList<>(GlazedLists.eventListOf('1'))
+
+        when:
+        target.endChange()
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    void 'Every listener is notified exactly once, even when listeners change during dispatch'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1')
+        EventObservableList<String> target = new EventObservableList<>(source)
+        List<String> calls = []
+        ListChangeListener late = { change -> calls << 'late' } as ListChangeListener
+        ListChangeListener first = { change -> calls << 'first' } as ListChangeListener
+        ListChangeListener second
+        second = { change ->
+            calls << 'second'
+            target.removeListener(second)
+            target.addListener(late)
+        } as ListChangeListener
+        ListChangeListener third = { change -> calls << 'third' } as ListChangeListener
+        [first, second, third].each { target.addListener(it) }
+
+        when:
+        source.add('2')
+
+        then:
+        calls.sort() == ['first', 'second', 'third']
+
+        when:
+        calls.clear()
+        source.add('3')
+
+        then:
+        calls.sort() == ['first', 'late', 'third']
+    }
+
+    @Unroll
+    void 'Iterators fail fast when the delegate is changed (#readMode)'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3')
+        EventObservableList<String> target = new EventObservableList<>(source, readMode)
+        Iterator<String> iterator = target.iterator()
+        List<String> subList = target.subList(0, 2)
+
+        when:
+        iterator.next()
+        source.add('4')
+        iterator.next()
+
+        then:
+        thrown(ConcurrentModificationException)
+
+        when:
+        subList.size()
+
+        then:
+        thrown(ConcurrentModificationException)
+
+        where:
+        readMode << EventObservableList.ReadMode.values()
+    }
+
+    @Unroll
+    void 'Iterators survive updates of the delegate (#readMode)'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3')
+        EventObservableList<String> target = new EventObservableList<>(source, readMode)
+        Iterator<String> iterator = target.iterator()
+
+        when:
+        iterator.next()
+        source.set(1, 'b')
+        source.updates.beginEvent()
+        source.updates.elementUpdated(2, '3', '3')
+        source.updates.commitEvent()
+
+        then:
+        iterator.next() == 'b'
+        iterator.next() == '3'
+
+        where:
+        readMode << EventObservableList.ReadMode.values()
+    }
+
+    @Unroll
+    void 'Changes made through iterators and subLists are published (#readMode)'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3', '4', '5')
+        EventObservableList<String> target = new EventObservableList<>(source, readMode)
+        List blocks = []
+        target.addListener({ change ->
+            while (change.next()) {
+                blocks << [change.from, change.to, change.removed]
+            }
+        } as ListChangeListener)
+
+        when:
+        ListIterator<String> iterator = target.listIterator(1)
+        iterator.next()
+        iterator.set('a')
+        target.subList(2, 4).clear()
+
+        then:
+        source == ['1', 'a', '5']
+        target.toList() == ['1', 'a', '5']
+        blocks == [[1, 2, ['2']], [2, 2, ['3', '4']]]
+
+        where:
+        readMode << EventObservableList.ReadMode.values()
+    }
+
+    @Unroll
+    void 'Snapshots are published once a batch completes (#readMode)'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3')
+        EventObservableList<String> target = new EventObservableList<>(source, readMode)
+        List<String> seenByOwner = null
+        List<String> seenByOthers = null
+        List<String> seenByListener = null
+        target.addListener({ change -> seenByListener = target.toList() } as ListChangeListener)
+        target.size()
+
+        when:
+        target.batch { list ->
+            list.remove('1')
+            list.add('4')
+            seenByOwner = target.toList()
+            Thread reader = Thread.start { seenByOthers = target.toList() }
+            reader.join()
+        }
+
+        then:
+        seenByOwner == ['2', '3', '4']
+        seenByOthers == ['1', '2', '3']
+        seenByListener == ['2', '3', '4']
+        target.toList() == ['2', '3', '4']
+
+        where:
+        readMode << [EventObservableList.ReadMode.SNAPSHOT, EventObservableList.ReadMode.EAGER_SNAPSHOT]
+    }
+
+    @Unroll
+    void 'Snapshots are not affected by later changes (#readMode)'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3')
+        EventObservableList<String> target = new EventObservableList<>(source, readMode)
+
+        when:
+        List<String> snapshot = target.snapshot
+        source.remove(0)
+        source.add('4')
+
+        then:
+        snapshot == ['1', '2', '3']
+        target.snapshot == ['2', '3', '4']
+
+        when:
+        snapshot.add('5')
+
+        then:
+        thrown(UnsupportedOperationException)
+
+        where:
+        readMode << EventObservableList.ReadMode.values()
+    }
+
+    void 'Eager snapshots follow every change of the delegate'() {
+        given:
+        EventList<String> source = GlazedLists.eventListOf('1', '2', '3', '4', '5')
+        SortedList<String> sorted = new SortedList<>(source, null)
+        EventObservableList<String> target = new EventObservableList<>(sorted, EventObservableList.ReadMode.EAGER_SNAPSHOT)
+        List<List<String>> seen = []
+        target.addListener({ change -> seen << new ArrayList<>(target) } as ListChangeListener)
+
+        when:
+        source.updates.beginEvent(true)
+        source.remove(1)
+        source.add(1, 'a')
+        source.add('b')
+        source.set(0, 'c')
+        source.remove(3)
+        source.updates.commitEvent()
+
+        then:
+        target.toList() == ['c', 'a', '3', '5', 'b']
+        seen == [['c', 'a', '3', '5', 'b']]
+
+        when:
+        sorted.comparator = GlazedLists.comparableComparator()
+
+        then:
+        target.toList() == ['3', '5', 'a', 'b', 'c']
+        target.snapshot == ['3', '5', 'a', 'b', 'c']
+
+        when:
+        target.batch { list ->
+            list.clear()
+            list.addAll(['z', 'y'])
+        }
+
+        then:
+        target.toList() == ['y', 'z']
+        seen.last() == ['y', 'z']
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx
+
+import ca.odell.glazedlists.BasicEventList
+import ca.odell.glazedlists.EventList
+import ca.odell.glazedlists.ObservableElementList
+import ca.odell.glazedlists.event.ListEvent
+import ca.odell.glazedlists.event.ListEventListener
+import griffon.plugins.glazedlists.BatchObservableElementList
+import griffon.plugins.glazedlists.ChangedProperties
+import javafx.beans.property.IntegerProperty
+import javafx.beans.property.ReadOnlyBooleanProperty
+import javafx.beans.property.ReadOnlyBooleanWrapper
+import javafx.beans.property.SimpleIntegerProperty
+import javafx.beans.property.SimpleStringProperty
+import javafx.beans.property.StringProperty
+import spock.lang.Specification
+
+import java.util.function.Consumer
+
+class JavaFXBeanConnectorSpec extends Specification {
+    private final EventList<Object> source = new BasicEventList<>()
+    private final List<List<Integer>> events = []
+
+    private ObservableElementList<Object> observe(JavaFXBeanConnector connector) {
+        ObservableElementList<Object> list = new BatchObservableElementList<>(source, connector)
+        list.addListEventListener({ ListEvent e ->
+            List<Integer> event = []
+            while (e.next()) {
+                if (e.type == ListEvent.UPDATE) event << e.index
+            }
+            if (event) events << event
+        } as ListEventListener)
+        list
+    }
+
+    void 'Elements of a class share a single listener'() {
+        given:
+        JavaFXBeanConnector connector = new JavaFXBeanConnector()
+
+        expect:
+        connector.installListener(new Person('Joe', 42)).is(connector.installListener(new Person('Ann', 37)))
+        !connector.installListener(new Anonymous()).is(connector.installListener(new Person('Bob', 51)))
+        connector.installListener(new Object()) == null
+    }
+
+    void 'Observes the matching properties of plain beans'() {
+        given:
+        Person joe = new Person('Joe', 42)
+        Person ann = new Person('Ann', 37)
+        source.addAll([joe, ann])
+        observe(new JavaFXBeanConnector(['age', 'active'] as String[]))
+
+        when:
+        ann.ageProperty().set(38)
+        ann.nameProperty().set('Anne')
+        joe.active = true
+
+        then:
+        events == [[1], [0]]
+    }
+
+    void 'Elements whose properties have no bean get a listener of their own'() {
+        given:
+        Anonymous anonymous = new Anonymous()
+        source.addAll([new Person('Joe', 42), anonymous])
+        observe(new JavaFXBeanConnector())
+
+        when:
+        anonymous.nameProperty().set('Ann')
+
+        then:
+        events == [[1]]
+    }
+
+    void 'Stops observing removed elements'() {
+        given:
+        Person joe = new Person('Joe', 42)
+        Anonymous anonymous = new Anonymous()
+        source.addAll([joe, anonymous])
+        observe(new JavaFXBeanConnector())
+
+        when:
+        source.clear()
+        joe.nameProperty().set('Joseph')
+        anonymous.nameProperty().set('Ann')
+
+        then:
+        events == []
+    }
+
+    void 'Coalesces the changes of an element until they are flushed'() {
+        given:
+        List<Runnable> scheduled = []
+        Person joe = new Person('Joe', 42)
+        Person ann = new Person('Ann', 37)
+        source.addAll([joe, ann])
+        JavaFXBeanConnector connector = new JavaFXBeanConnector([] as String[], ThreadProxyPolicy.perPulse(), { scheduled << it } as Consumer)
+        observe(connector)
+
+        when:
+        ann.ageProperty().set(38)
+        joe.nameProperty().set('Joseph')
+        ann.nameProperty().set('Anne')
+
+        then:
+        events == []
+        scheduled.size() == 1
+
+        when:
+        scheduled[0].run()
+
+        then:
+        events == [[0, 1]]
+    }
+
+    void 'Reports changed properties by the name of their accessor'() {
+        given:
+        Renamed renamed = new Renamed()
+        Anonymous anonymous = new Anonymous()
+        source.addAll([renamed, anonymous])
+        ObservableElementList<Object> list = observe(new JavaFXBeanConnector())
+        List<Set<String>> published = []
+        list.addListEventListener({ ListEvent e ->
+            while (e.next()) {
+                published << ChangedProperties.of(list[e.index])
+            }
+        } as ListEventListener)
+
+        when:
+        renamed.nameProperty().set('Joe')
+        anonymous.nameProperty().set('Ann')
+
+        then:
+        published == [['name'] as Set, null]
+    }
+
+    static class Person {
+        private final StringProperty name = new SimpleStringProperty(this, 'name')
+        private final IntegerProperty age = new SimpleIntegerProperty(this, 'age')
+        private final ReadOnlyBooleanWrapper active = new ReadOnlyBooleanWrapper(this, 'active')
+
+        Person(String name, int age) {
+            this.name.set(name)
+            this.age.set(age)
+        }
+
+        StringProperty nameProperty() {
+            name
+        }
+
+        IntegerProperty ageProperty() {
+            age
+        }
+
+        ReadOnlyBooleanProperty activeProperty() {
+            active.readOnlyProperty
+        }
+
+        void setActive(boolean active) {
+            this.active.set(active)
+        }
+    }
+
+    static class Anonymous {
+        private final StringProperty name = new SimpleStringProperty(null, 'name')
+
+        StringProperty nameProperty() {
+            name
+        }
+    }
+
+    static class Renamed {
+        private final StringProperty name = new SimpleStringProperty(this, 'fullName')
+
+        StringProperty nameProperty() {
+            name
+        }
+    }
+}
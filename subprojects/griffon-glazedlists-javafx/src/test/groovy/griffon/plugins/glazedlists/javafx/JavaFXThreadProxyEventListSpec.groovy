@@ -0,0 +1,275 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx
+
+import ca.odell.glazedlists.BasicEventList
+import ca.odell.glazedlists.EventList
+import ca.odell.glazedlists.SortedList
+import ca.odell.glazedlists.event.ListEvent
+import ca.odell.glazedlists.event.ListEventListener
+import griffon.plugins.glazedlists.ChangedProperties
+import spock.lang.Specification
+
+import java.util.function.Consumer
+
+class JavaFXThreadProxyEventListSpec extends Specification {
+    private final EventList<String> source = new BasicEventList<>()
+    private final List<Runnable> scheduled = []
+    private final List<Runnable> urgent = []
+    private final List<List> flushes = []
+    private final List<String> replica = []
+    private int events
+
+    private JavaFXThreadProxyEventList<String> proxy(EventList<String> source, ThreadProxyPolicy policy) {
+        policy = policy.withFlushListener({ changes, reset -> flushes << [changes, reset] } as ThreadProxyPolicy.FlushListener)
+        JavaFXThreadProxyEventList<String> list = new JavaFXThreadProxyEventList<>(source, policy,
+            { scheduled << it } as Consumer, { urgent << it } as Consumer)
+        replica.addAll(list)
+        list.addListEventListener({ ListEvent<String> e -> replay(list, e) } as ListEventListener)
+        list
+    }
+
+    // applies every event to a copy of the list, which must end up with the same contents
+    private void replay(JavaFXThreadProxyEventList<String> list, ListEvent<String> e) {
+        events++
+        if (e.isReordering()) {
+            List<String> previous = new ArrayList<>(replica)
+            int[] reorderMap = e.reorderMap
+            for (int i = 0; i < reorderMap.length; i++) {
+                replica[i] = previous[reorderMap[i]]
+            }
+            return
+        }
+        while (e.next()) {
+            switch (e.type) {
+                case ListEvent.INSERT:
+                    replica.add(e.index, list[e.index])
+                    break
+                case ListEvent.DELETE:
+                    replica.remove(e.index)
+                    break
+                default:
+                    replica[e.index] = list[e.index]
+            }
+        }
+    }
+
+    private void pulse() {
+        List<Runnable> pending = new ArrayList<>(scheduled)
+        scheduled.clear()
+        pending*.run()
+    }
+
+    void 'Delivers the changes of the source when flushed'() {
+        given:
+        source.addAll(['a', 'b', 'c'])
+        JavaFXThreadProxyEventList<String> list = proxy(source, ThreadProxyPolicy.immediate())
+
+        when:
+        source.add('d')
+        source.remove(0)
+        source.set(1, 'C')
+
+        then:
+        list == ['a', 'b', 'c']
+        events == 0
+        scheduled.size() == 1
+
+        when:
+        pulse()
+
+        then:
+        list == ['b', 'C', 'd']
+        replica == list
+        events == 1
+        flushes == [[3, false]]
+    }
+
+    void 'Mirrors random changes of the source'() {
+        given:
+        Random random = new Random(42)
+        source.addAll((0..<50).collect { "e$it" as String })
+        JavaFXThreadProxyEventList<String> list = proxy(source, ThreadProxyPolicy.perPulse())
+
+        when:
+        20.times { pass ->
+            (random.nextInt(10) + 1).times { change ->
+                int op = source.empty ? 0 : random.nextInt(3)
+                if (op == 0) {
+                    source.add(random.nextInt(source.size() + 1), "i$pass.$change" as String)
+                } else if (op == 1) {
+                    source.remove(random.nextInt(source.size()))
+                } else {
+                    source.set(random.nextInt(source.size()), "u$pass.$change" as String)
+                }
+            }
+            pulse()
+            assert list == source
+            assert replica == source
+        }
+
+        then:
+        events == 20
+    }
+
+    void 'Mirrors reorders of the source'() {
+        given:
+        EventList<String> elements = new BasicEventList<>()
+        elements.addAll(['c', 'a', 'd', 'b'])
+        SortedList<String> sorted = new SortedList<>(elements, null)
+        JavaFXThreadProxyEventList<String> list = proxy(sorted, ThreadProxyPolicy.perPulse())
+
+        when:
+        sorted.comparator = { a, b -> a <=> b } as Comparator
+        pulse()
+
+        then:
+        list == ['a', 'b', 'c', 'd']
+        replica == list
+
+        when:
+        sorted.comparator = { a, b -> b <=> a } as Comparator
+        elements.add('e')
+        elements.remove('a')
+        pulse()
+
+        then:
+        list == ['e', 'd', 'c', 'b']
+        replica == list
+    }
+
+    void 'Reloads the list once the backlog exceeds the reset threshold'() {
+        given:
+        source.addAll(['a', 'b'])
+        JavaFXThreadProxyEventList<String> list = proxy(source, ThreadProxyPolicy.perPulse().withResetThreshold(2))
+
+        when:
+        source.add('c')
+        source.add('d')
+        source.remove('a')
+
+        then:
+        list == ['a', 'b']
+
+        when:
+        pulse()
+
+        then:
+        list == ['b', 'c', 'd']
+        replica == list
+        events == 1
+        flushes == [[3, true]]
+
+        when:
+        source.add('e')
+        pulse()
+
+        then:
+        list == ['b', 'c', 'd', 'e']
+        replica == list
+        flushes == [[3, true], [1, false]]
+    }
+
+    void 'Flushes right away once the backlog exceeds the pending changes budget'() {
+        given:
+        JavaFXThreadProxyEventList<String> list = proxy(source, ThreadProxyPolicy.perPulse().withMaxPendingChanges(2))
+
+        when:
+        source.add('a')
+        source.add('b')
+
+        then:
+        scheduled.size() == 1
+        urgent.isEmpty()
+
+        when:
+        source.add('c')
+        source.add('d')
+
+        then:
+        scheduled.size() == 1
+        urgent.size() == 1
+
+        when:
+        urgent[0].run()
+        pulse()
+
+        then:
+        list == ['a', 'b', 'c', 'd']
+        replica == list
+        flushes == [[4, false]]
+    }
+
+    void 'Delivers the changes made between pulses in a single event'() {
+        given:
+        JavaFXThreadProxyEventList<String> list = proxy(source, ThreadProxyPolicy.perPulse())
+
+        when:
+        source.add('a')
+        source.add('b')
+        source.set(0, 'A')
+
+        then:
+        scheduled.size() == 1
+
+        when:
+        pulse()
+        pulse()
+
+        then:
+        list == ['A', 'b']
+        events == 1
+
+        when:
+        source.remove(1)
+
+        then:
+        scheduled.size() == 1
+
+        when:
+        pulse()
+
+        then:
+        list == ['A']
+        replica == list
+        events == 2
+        flushes == [[3, false], [1, false]]
+    }
+
+    void 'Publishes the changed properties of each element merged until the flush'() {
+        given:
+        source.addAll(['a', 'b', 'c'])
+        JavaFXThreadProxyEventList<String> list = proxy(source, ThreadProxyPolicy.perPulse())
+        Map<String, Set<String>> published = [:]
+        list.addListEventListener({ ListEvent<String> e ->
+            while (e.next()) {
+                published[list[e.index]] = ChangedProperties.of(list[e.index])
+            }
+        } as ListEventListener)
+
+        when:
+        source.set(0, 'a')
+        ChangedProperties.publish([a: ['name'] as Set]) { source.set(0, 'a') }
+        ChangedProperties.publish([b: ['name'] as Set]) { source.set(1, 'b') }
+        ChangedProperties.publish([b: ['age'] as Set]) { source.set(1, 'b') }
+        ChangedProperties.publish([c: ['name'] as Set]) { source.set(2, 'c') }
+        source.set(2, 'c')
+        pulse()
+
+        then:
+        published == [a: null, b: ['name', 'age'] as Set, c: null]
+    }
+}
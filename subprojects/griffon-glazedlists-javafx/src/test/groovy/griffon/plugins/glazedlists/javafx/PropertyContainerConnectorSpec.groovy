@@ -0,0 +1,264 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx
+
+import ca.odell.glazedlists.BasicEventList
+import ca.odell.glazedlists.EventList
+import ca.odell.glazedlists.ObservableElementList
+import ca.odell.glazedlists.event.ListEvent
+import ca.odell.glazedlists.event.ListEventListener
+import griffon.plugins.glazedlists.BatchObservableElementList
+import griffon.plugins.glazedlists.ChangedProperties
+import javafx.beans.property.IntegerProperty
+import javafx.beans.property.Property
+import javafx.beans.property.SimpleIntegerProperty
+import javafx.beans.property.SimpleStringProperty
+import javafx.beans.property.StringProperty
+import spock.lang.Specification
+
+import java.util.function.Consumer
+
+class PropertyContainerConnectorSpec extends Specification {
+    private final EventList<PropertyContainer> source = new BasicEventList<>()
+    private final List<Integer> updates = []
+    private final List<List<Integer>> events = []
+    private final List<Runnable> scheduled = []
+
+    private ObservableElementList<PropertyContainer> observe(PropertyContainerConnector connector) {
+        register(new ObservableElementList<>(source, connector))
+    }
+
+    private ObservableElementList<PropertyContainer> register(ObservableElementList<PropertyContainer> list) {
+        list.addListEventListener({ ListEvent e ->
+            List<Integer> event = []
+            while (e.next()) {
+                if (e.type == ListEvent.UPDATE) event << e.index
+            }
+            updates.addAll(event)
+            events << event
+        } as ListEventListener)
+        list
+    }
+
+    private PropertyContainerConnector coalescing(String... propertyNames) {
+        new PropertyContainerConnector(propertyNames, ThreadProxyPolicy.perPulse(), { scheduled << it } as Consumer)
+    }
+
+    void 'Elements of a class share a single listener'() {
+        given:
+        PropertyContainerConnector connector = new PropertyContainerConnector(['name'] as String[])
+
+        expect:
+        connector.installListener(new Person('Joe', 42)).is(connector.installListener(new Person('Ann', 37)))
+        !connector.installListener(new Anonymous()).is(connector.installListener(new Person('Bob', 51)))
+    }
+
+    void 'Observes matching properties of every element'() {
+        given:
+        Person joe = new Person('Joe', 42)
+        Person ann = new Person('Ann', 37)
+        source.addAll([joe, ann])
+        observe(new PropertyContainerConnector(['age'] as String[]))
+
+        when:
+        ann.age.set(38)
+        ann.name.set('Anne')
+        joe.age.set(43)
+
+        then:
+        updates == [1, 0]
+    }
+
+    void 'Observes all properties when no names are given'() {
+        given:
+        Person joe = new Person('Joe', 42)
+        source.add(joe)
+        observe(new PropertyContainerConnector())
+
+        when:
+        joe.name.set('Joseph')
+        joe.age.set(43)
+
+        then:
+        updates == [0, 0]
+    }
+
+    void 'Elements whose properties have no bean get a listener of their own'() {
+        given:
+        Person joe = new Person('Joe', 42)
+        Anonymous anonymous = new Anonymous()
+        source.addAll([joe, anonymous])
+        observe(new PropertyContainerConnector(['name'] as String[]))
+
+        when:
+        anonymous.name.set('Ann')
+
+        then:
+        updates == [1]
+    }
+
+    void 'Stops observing removed elements'() {
+        given:
+        Person joe = new Person('Joe', 42)
+        Anonymous anonymous = new Anonymous()
+        source.addAll([joe, anonymous])
+        observe(new PropertyContainerConnector(['name'] as String[]))
+
+        when:
+        source.clear()
+        joe.name.set('Joseph')
+        anonymous.name.set('Ann')
+
+        then:
+        updates == []
+    }
+
+    void 'Coalesces the changes of an element until they are flushed'() {
+        given:
+        Person joe = new Person('Joe', 42)
+        Person ann = new Person('Ann', 37)
+        source.addAll([joe, ann])
+        PropertyContainerConnector connector = coalescing()
+        observe(connector)
+
+        when:
+        ann.age.set(38)
+        ann.name.set('Anne')
+        ann.age.set(39)
+
+        then:
+        updates == []
+        scheduled.size() == 1
+
+        when:
+        scheduled[0].run()
+
+        then:
+        updates == [1]
+
+        when:
+        joe.age.set(43)
+        connector.flush()
+
+        then:
+        updates == [1, 0]
+        scheduled.size() == 2
+    }
+
+    void 'Reports all changed elements in a single event to a batch list'() {
+        given:
+        Person joe = new Person('Joe', 42)
+        Person ann = new Person('Ann', 37)
+        Person bob = new Person('Bob', 51)
+        source.addAll([joe, ann, bob])
+        PropertyContainerConnector connector = coalescing('age')
+        register(new BatchObservableElementList<>(source, connector))
+
+        when:
+        bob.age.set(52)
+        joe.age.set(43)
+        joe.age.set(44)
+        ann.name.set('Anne')
+        connector.flush()
+
+        then:
+        events == [[0, 2]]
+    }
+
+    void 'Publishes the changed properties of each element'() {
+        given:
+        Person joe = new Person('Joe', 42)
+        Person ann = new Person('Ann', 37)
+        source.addAll([joe, ann])
+        PropertyContainerConnector connector = coalescing()
+        ObservableElementList<PropertyContainer> list = new BatchObservableElementList<>(source, connector)
+        List<Set<String>> published = []
+        list.addListEventListener({ ListEvent e ->
+            while (e.next()) {
+                published << ChangedProperties.of(list[e.index])
+            }
+        } as ListEventListener)
+
+        when:
+        joe.age.set(43)
+        joe.name.set('Joseph')
+        ann.age.set(38)
+        connector.flush()
+
+        then:
+        published == [['age', 'name'] as Set, ['age'] as Set]
+    }
+
+    void 'Reports merged changes to the flush listener'() {
+        given:
+        List<Integer> flushes = []
+        ThreadProxyPolicy policy = ThreadProxyPolicy.perPulse().withFlushListener({ int merged, boolean reset -> flushes << merged } as ThreadProxyPolicy.FlushListener)
+        PropertyContainerConnector connector = new PropertyContainerConnector([] as String[], policy, { scheduled << it } as Consumer)
+        Person joe = new Person('Joe', 42)
+        source.add(joe)
+        observe(connector)
+
+        when:
+        joe.name.set('Joseph')
+        joe.age.set(43)
+        connector.flush()
+        connector.flush()
+
+        then:
+        flushes == [2]
+        updates == [0]
+    }
+
+    void 'Drops pending changes of removed elements'() {
+        given:
+        Person joe = new Person('Joe', 42)
+        source.add(joe)
+        PropertyContainerConnector connector = coalescing()
+        observe(connector)
+
+        when:
+        joe.age.set(43)
+        source.clear()
+        connector.flush()
+
+        then:
+        updates == []
+    }
+
+    static class Person implements PropertyContainer {
+        final StringProperty name = new SimpleStringProperty(this, 'name')
+        final IntegerProperty age = new SimpleIntegerProperty(this, 'age')
+
+        Person(String name, int age) {
+            this.name.set(name)
+            this.age.set(age)
+        }
+
+        @Override
+        Property<?>[] properties() {
+            [name, age] as Property<?>[]
+        }
+    }
+
+    static class Anonymous implements PropertyContainer {
+        final StringProperty name = new SimpleStringProperty(null, 'name')
+
+        @Override
+        Property<?>[] properties() {
+            [name] as Property<?>[]
+        }
+    }
+}
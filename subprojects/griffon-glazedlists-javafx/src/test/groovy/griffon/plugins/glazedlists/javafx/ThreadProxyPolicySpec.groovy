@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * @author Andres Almiray
+ */
+class ThreadProxyPolicySpec extends Specification {
+    void 'Policies are immutable'() {
+        given:
+        ThreadProxyPolicy.FlushListener listener = { changes, reset -> } as ThreadProxyPolicy.FlushListener
+
+        when:
+        ThreadProxyPolicy policy = ThreadProxyPolicy.immediate()
+            .withMaxPendingChanges(100)
+            .withResetThreshold(1000)
+            .withFlushListener(listener)
+
+        then:
+        !ThreadProxyPolicy.immediate().perPulse
+        ThreadProxyPolicy.immediate().maxPendingChanges == 0
+        ThreadProxyPolicy.immediate().flushListener == null
+        !policy.perPulse
+        policy.maxFlushRate == 0d
+        policy.maxPendingChanges == 100
+        policy.resetThreshold == 1000
+        policy.flushListener == listener
+    }
+
+    void 'Limiting the flush rate aligns flushes to pulses'() {
+        when:
+        ThreadProxyPolicy policy = ThreadProxyPolicy.immediate().withMaxFlushRate(30d)
+
+        then:
+        policy.perPulse
+        policy.maxFlushRate == 30d
+    }
+
+    @Unroll
+    void 'Limits must be positive (#limit)'() {
+        when:
+        ThreadProxyPolicy.perPulse()."with${limit}"(0)
+
+        then:
+        thrown(IllegalStateException)
+
+        where:
+        limit << ['MaxFlushRate', 'MaxPendingChanges', 'ResetThreshold']
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx.gui
+
+import spock.lang.Specification
+
+class GenerateFXTableFormatSpec extends Specification {
+    void 'Generated FXTableFormat reads columns through JavaFX properties'() {
+        given:
+        Track track = new Track('1')
+        track.title = 'Intro'
+        track.duration = 90
+
+        when:
+        TrackFXTableFormat format = new TrackFXTableFormat()
+
+        then:
+        format instanceof FXWritableTableFormat
+        format.columnCount == 3
+        (0..<3).collect { format.getColumnName(it) } == ['#', 'Title', 'Duration (s)']
+        format.getColumnObservableValue(track, 0).value == '1'
+        format.getColumnObservableValue(track, 1).is(track.titleProperty())
+        format.getColumnValue(track, 2).is(track.durationProperty())
+        format.getTableCellFactory(1).is(TableCellFactory.DEFAULT_EDITABLE)
+    }
+
+    void 'Generated FXTableFormat writes through writable JavaFX properties'() {
+        given:
+        Track track = new Track('1')
+        TrackFXTableFormat format = new TrackFXTableFormat()
+
+        when:
+        format.setColumnValue(track, 'Intro', 1)
+        format.setColumnValue(track, 90, 2)
+
+        then:
+        !format.isEditable(track, 0)
+        format.isEditable(track, 1)
+        format.isEditable(track, 2)
+        track.title == 'Intro'
+        track.duration == 90
+
+        when:
+        format.setColumnValue(track, '2', 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    void 'Generated TableFormat reads columns through getters'() {
+        given:
+        Track track = new Track('1')
+        track.duration = 90
+
+        when:
+        TrackTableFormat format = new TrackTableFormat()
+
+        then:
+        format.getColumnValue(track, 2) == 90
+        format.getColumnClass(2) == Integer
+        format.getColumnComparator(2).compare(90, 120) < 0
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx.gui
+
+import griffon.exceptions.InstanceMethodInvocationException
+import javafx.beans.property.SimpleIntegerProperty
+import javafx.beans.property.SimpleStringProperty
+import javafx.beans.property.StringProperty
+import spock.lang.Specification
+
+class JavaFXPropertyExtractorSpec extends Specification {
+    void 'Resolves <name>Property() methods'() {
+        given:
+        Person person = new Person(name: 'Joe')
+
+        expect:
+        DefaultJavaFXColumnReader.INSTANCE.getValue(person, 'name', 0).is(person.nameProperty())
+        DefaultJavaFXColumnReader.INSTANCE.getValue(person, 'nameProperty', 0).is(person.nameProperty())
+        DefaultJavaFXColumnReader.INSTANCE.getValue(new Person(), 'name', 0).value == null
+    }
+
+    void 'Falls back to get<Name>Property() methods'() {
+        given:
+        Person person = new Person()
+
+        expect:
+        DefaultJavaFXColumnReader.INSTANCE.getValue(person, 'age', 1).is(person.getAgeProperty())
+    }
+
+    void 'Writes through the resolved property'() {
+        given:
+        Person person = new Person()
+
+        when:
+        DefaultJavaFXColumnWriter.INSTANCE.setValue(person, 'name', 0, 'Joe')
+        DefaultJavaFXColumnWriter.INSTANCE.setValue(person, 'age', 1, 42)
+
+        then:
+        person.name == 'Joe'
+        person.getAgeProperty().get() == 42
+    }
+
+    void 'Fails on unknown properties every time'() {
+        when:
+        DefaultJavaFXColumnReader.INSTANCE.getValue(new Person(), 'unknown', 0)
+
+        then:
+        thrown(InstanceMethodInvocationException)
+
+        when:
+        DefaultJavaFXColumnReader.INSTANCE.getValue(new Person(), 'unknown', 0)
+
+        then:
+        thrown(InstanceMethodInvocationException)
+    }
+
+    void 'Propagates exceptions thrown by property methods'() {
+        when:
+        DefaultJavaFXColumnReader.INSTANCE.getValue(new Person(), 'broken', 0)
+
+        then:
+        InstanceMethodInvocationException e = thrown()
+        e.cause instanceof UnsupportedOperationException
+    }
+
+    static class Person {
+        private final StringProperty name = new SimpleStringProperty(this, 'name')
+        private final SimpleIntegerProperty age = new SimpleIntegerProperty(this, 'age')
+
+        StringProperty nameProperty() {
+            name
+        }
+
+        String getName() {
+            name.get()
+        }
+
+        void setName(String name) {
+            this.name.set(name)
+        }
+
+        SimpleIntegerProperty getAgeProperty() {
+            age
+        }
+
+        StringProperty brokenProperty() {
+            throw new UnsupportedOperationException()
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx.models
+
+import griffon.plugins.glazedlists.ChangedProperties
+import javafx.beans.Observable
+import javafx.beans.property.SimpleObjectProperty
+import javafx.beans.property.SimpleStringProperty
+import javafx.beans.property.StringProperty
+import javafx.beans.value.ObservableValue
+import javafx.collections.FXCollections
+import javafx.collections.ListChangeListener
+import javafx.collections.ListChangeListener.Change
+import javafx.collections.ObservableList
+import javafx.util.Callback
+import spock.lang.Specification
+
+import java.util.function.Consumer
+
+class ObservableValueCacheSpec extends Specification {
+    private final ObservableList<Person> people = FXCollections.observableArrayList({ Person p -> [p.name] as Observable[] } as Callback)
+    private final List<ObservableValue<?>> evicted = []
+    private int created
+
+    private final ObservableValueCache<Person> cache = new ObservableValueCache<>(people, ['name', 'nickname'] as String[],
+        { Person p, int column -> created++; new SimpleObjectProperty(p, "column$column") } as ObservableValueCache.CellValueFactory,
+        { evicted << it } as Consumer)
+
+    void 'Returns the same value for a cell until its row changes'() {
+        given:
+        Person joe = new Person('Joe')
+        people.addAll(joe, new Person('Ann'))
+
+        when:
+        ObservableValue<?> value = cache.get(joe, 0)
+
+        then:
+        cache.get(joe, 0).is(value)
+        !cache.get(joe, 1).is(value)
+        created == 2
+    }
+
+    void 'Evicts the values of updated rows only'() {
+        given:
+        Person joe = new Person('Joe')
+        Person ann = new Person('Ann')
+        people.addAll(joe, ann)
+        ObservableValue<?> joeValue = cache.get(joe, 0)
+        ObservableValue<?> annValue = cache.get(ann, 0)
+
+        when:
+        joe.name = 'Joseph'
+
+        then:
+        evicted == [joeValue]
+        !cache.get(joe, 0).is(joeValue)
+        cache.get(ann, 0).is(annValue)
+    }
+
+    void 'Evicts the values of the columns whose property changed'() {
+        given:
+        Person joe = new Person('Joe')
+        people.add(joe)
+        ObservableValue<?> name = cache.get(joe, 0)
+        ObservableValue<?> nickname = cache.get(joe, 1)
+
+        when:
+        ChangedProperties.publish([(joe): ['nickname'] as Set], { joe.name = 'Joseph' })
+
+        then:
+        evicted == [nickname]
+        cache.get(joe, 0).is(name)
+    }
+
+    void 'Evicts the values of removed and replaced rows'() {
+        given:
+        Person joe = new Person('Joe')
+        Person ann = new Person('Ann')
+        people.addAll(joe, ann)
+        cache.get(joe, 0)
+        cache.get(ann, 1)
+
+        when:
+        people.remove(joe)
+        people.set(0, new Person('Bob'))
+
+        then:
+        evicted.size() == 2
+        cache.size() == 0
+    }
+
+    void 'Keeps the values of the rows read most recently only'() {
+        given:
+        List<Person> rows = (0..<5).collect { new Person("p$it") }
+        people.addAll(rows)
+        ObservableValueCache<Person> cache = new ObservableValueCache<>(people, ['name'] as String[],
+            { Person p, int column -> new SimpleObjectProperty(p, 'name') } as ObservableValueCache.CellValueFactory,
+            { evicted << it } as Consumer, 3)
+        ObservableValue<?> first = cache.get(rows[0], 0)
+
+        when:
+        rows.each { cache.get(it, 0) }
+
+        then:
+        cache.size() == 3
+        !cache.get(rows[0], 0).is(first)
+        evicted.empty
+    }
+
+    void 'Values read before the cache is notified of a change are not cached'() {
+        given:
+        Person joe = new Person('Joe')
+        people.add(joe)
+        List<ObservableValue<?>> read = []
+        ObservableValueCache<Person> cache
+        // registered first, so notified before the cache
+        people.addListener({ Change change -> read << cache.get(joe, 0) } as ListChangeListener)
+        cache = new ObservableValueCache<>(people, ['name'] as String[],
+            { Person p, int column -> new SimpleObjectProperty(p, 'name') } as ObservableValueCache.CellValueFactory,
+            { evicted << it } as Consumer)
+        ObservableValue<?> value = cache.get(joe, 0)
+
+        when:
+        joe.name = 'Joseph'
+
+        then:
+        !read[0].is(value)
+        evicted == [value]
+        !cache.get(joe, 0).is(read[0])
+    }
+
+    static class Person {
+        private final StringProperty name = new SimpleStringProperty(this, 'name')
+
+        Person(String name) {
+            this.name.set(name)
+        }
+
+        StringProperty nameProperty() {
+            name
+        }
+
+        void setName(String name) {
+            this.name.set(name)
+        }
+    }
+}
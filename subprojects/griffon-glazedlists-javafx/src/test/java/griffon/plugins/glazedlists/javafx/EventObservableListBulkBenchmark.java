@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ListChangeListener;
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.Scene;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+/**
+ * Compares event counts and the time spent on the JavaFX application thread (mutation plus
+ * the layout pass of a {@code TableView}, i.e. the bulk of the next pulse) when replacing or
+ * removing rows of a large list.
+ * <p>
+ * Run with {@code java griffon.plugins.glazedlists.javafx.EventObservableListBulkBenchmark [rows]}.
+ * The {@code clear+addAll} and {@code remove(i) loop} rows reproduce the former behavior of
+ * {@code setAll()} and {@code remove(from, to)}.
+ */
+public class EventObservableListBulkBenchmark {
+    private static final int ITERATIONS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        List<Integer> replacement = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            replacement.add(rows - i);
+        }
+
+        // initializes the JavaFX toolkit
+        new JFXPanel();
+
+        System.out.printf("%-18s %12s %14s %12s%n", "operation", "changes", "sub-changes", "fx ms");
+        run("clear+addAll", rows, list -> {
+            list.clear();
+            list.addAll(replacement);
+        });
+        run("setAll", rows, list -> list.setAll(replacement));
+        run("remove(i) loop", rows, list -> {
+            for (int i = list.size() / 10 - 1; i >= 0; i--) {
+                list.remove(i);
+            }
+        });
+        run("remove(from, to)", rows, list -> list.remove(0, list.size() / 10));
+
+        Platform.exit();
+    }
+
+    private static void run(String name, int rows, Consumer<EventObservableList<Integer>> operation) throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            long changes = 0;
+            long subChanges = 0;
+            long nanos = 0;
+            for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+                EventList<Integer> source = new BasicEventList<>();
+                for (int i = 0; i < rows; i++) {
+                    source.add(i);
+                }
+                EventObservableList<Integer> list = new EventObservableList<>(source);
+
+                TableView<Integer> tableView = new TableView<>(list);
+                TableColumn<Integer, Integer> column = new TableColumn<>("value");
+                column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue()));
+                tableView.getColumns().add(column);
+                new Scene(tableView, 800, 600);
+                tableView.applyCss();
+                tableView.layout();
+
+                long[] counts = new long[2];
+                list.addListener((ListChangeListener<Integer>) change -> {
+                    counts[0]++;
+                    while (change.next()) {
+                        counts[1]++;
+                    }
+                });
+
+                long start = System.nanoTime();
+                operation.accept(list);
+                tableView.layout();
+                nanos += System.nanoTime() - start;
+                changes += counts[0];
+                subChanges += counts[1];
+            }
+
+            System.out.printf("%-18s %12d %14d %12.2f%n", name, changes / ITERATIONS, subChanges / ITERATIONS, nanos / ITERATIONS / 1_000_000d);
+            latch.countDown();
+        });
+        latch.await();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import javafx.application.Platform;
+import javafx.embed.swing.JFXPanel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Measures {@code get(int)} throughput on the JavaFX application thread while
+ * background producers update the list and background readers scan it.
+ * <p>
+ * Run with {@code java griffon.plugins.glazedlists.javafx.EventObservableListReadBenchmark [rows] [millis]}.
+ * The {@code WRITE_LOCK} row reproduces the former behavior, where every read acquired the write lock.
+ */
+public class EventObservableListReadBenchmark {
+    private static final int PRODUCERS = 2;
+    private static final int BACKGROUND_READERS = 2;
+
+    // keeps the JIT from discarding reads
+    private static volatile long sink;
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 2_000L;
+
+        // initializes the JavaFX toolkit
+        new JFXPanel();
+
+        System.out.printf("%-12s %16s %16s%n", "mode", "fx gets/ms", "updates/ms");
+        run("WRITE_LOCK", rows, millis, list -> index -> {
+            list.getReadWriteLock().writeLock().lock();
+            try {
+                return list.get(index);
+            } finally {
+                list.getReadWriteLock().writeLock().unlock();
+            }
+        });
+        for (EventObservableList.ReadMode readMode : EventObservableList.ReadMode.values()) {
+            run(readMode.name(), rows, millis, list -> new EventObservableList<>(list, readMode)::get);
+        }
+
+        Platform.exit();
+    }
+
+    private static void run(String name, int rows, long millis, Reader reader) throws Exception {
+        EventList<Integer> list = new BasicEventList<>();
+        for (int i = 0; i < rows; i++) {
+            list.add(i);
+        }
+        IntFunction<Integer> getter = reader.create(list);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong updates = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < PRODUCERS; i++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    list.getReadWriteLock().writeLock().lock();
+                    try {
+                        for (int j = 0; j < 100; j++) {
+                            int index = random.nextInt(rows);
+                            list.set(index, list.get(index) + 1);
+                        }
+                    } finally {
+                        list.getReadWriteLock().writeLock().unlock();
+                    }
+                    updates.addAndGet(100);
+                    sleep(1);
+                }
+            }, "producer-" + i));
+        }
+        for (int i = 0; i < BACKGROUND_READERS; i++) {
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    long sum = 0;
+                    for (int j = 0; j < 1_000; j++) {
+                        sum += getter.apply(j % rows);
+                    }
+                    sink = sum;
+                }
+            }, "reader-" + i));
+        }
+        threads.forEach(Thread::start);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        long[] gets = new long[1];
+        Platform.runLater(() -> {
+            long deadline = System.currentTimeMillis() + millis;
+            long count = 0;
+            long sum = 0;
+            while (System.currentTimeMillis() < deadline) {
+                for (int i = 0; i < 1_000; i++) {
+                    sum += getter.apply(i % rows);
+                }
+                count += 1_000;
+            }
+            sink = sum;
+            gets[0] = count;
+            latch.countDown();
+        });
+        latch.await();
+
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.printf("%-12s %16d %16d%n", name, gets[0] / millis, updates.get() / millis);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Reader {
+        IntFunction<Integer> create(EventList<Integer> list);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.ObservableElementList;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.Property;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+import java.lang.ref.WeakReference;
+import java.util.EventListener;
+import java.util.function.Supplier;
+
+import static java.util.Arrays.binarySearch;
+
+/**
+ * Compares the time and the memory taken by observing the properties of every row of a large
+ * list with {@link PropertyContainerConnector} against the former implementation, which
+ * allocated a listener per row and looked up every property by name.
+ * <p>
+ * Run with {@code java griffon.plugins.glazedlists.javafx.PropertyContainerConnectorBenchmark [rows]}.
+ */
+public class PropertyContainerConnectorBenchmark {
+    private static final String[] PROPERTY_NAMES = {"age", "lastName", "name"};
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        EventList<Person> source = new BasicEventList<>();
+        for (int i = 0; i < rows; i++) {
+            source.add(new Person("name" + i, "lastName" + i, i));
+        }
+
+        System.out.printf("%-24s %12s %14s%n", "connector", "install ms", "retained MB");
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            run("former", source, FormerConnector::new, report);
+            run("PropertyContainerConnector", source, () -> new PropertyContainerConnector<>(PROPERTY_NAMES), report);
+        }
+    }
+
+    private static void run(String name, EventList<Person> source, Supplier<ObservableElementList.Connector<Person>> connector, boolean report) {
+        long before = usedMemory();
+        long start = System.nanoTime();
+        ObservableElementList<Person> list = new ObservableElementList<>(source, connector.get());
+        long nanos = System.nanoTime() - start;
+        long retained = usedMemory() - before;
+        list.dispose();
+
+        if (report) {
+            System.out.printf("%-24s %12.1f %14.1f%n", name, nanos / 1e6, retained / (1024d * 1024d));
+        }
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static class Person implements PropertyContainer {
+        private final StringProperty name = new SimpleStringProperty(this, "name");
+        private final StringProperty lastName = new SimpleStringProperty(this, "lastName");
+        private final IntegerProperty age = new SimpleIntegerProperty(this, "age");
+
+        public Person(String name, String lastName, int age) {
+            this.name.set(name);
+            this.lastName.set(lastName);
+            this.age.set(age);
+        }
+
+        @Override
+        public Property<?>[] properties() {
+            return new Property<?>[]{name, lastName, age};
+        }
+    }
+
+    private static class FormerConnector implements ObservableElementList.Connector<Person> {
+        private ObservableElementList<? extends Person> list;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public EventListener installListener(Person element) {
+            ElementChangeHandler handler = new ElementChangeHandler(element);
+            for (Property<?> property : element.properties()) {
+                if (binarySearch(PROPERTY_NAMES, property.getName()) > -1) {
+                    property.addListener(handler);
+                }
+            }
+            return handler;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void uninstallListener(Person element, EventListener listener) {
+            for (Property<?> property : element.properties()) {
+                if (binarySearch(PROPERTY_NAMES, property.getName()) > -1) {
+                    property.removeListener((ChangeListener) listener);
+                }
+            }
+        }
+
+        @Override
+        public void setObservableElementList(ObservableElementList<? extends Person> list) {
+            this.list = list;
+        }
+
+        private class ElementChangeHandler implements ElementChangeListener<Object> {
+            private final WeakReference<Person> element;
+
+            private ElementChangeHandler(Person element) {
+                this.element = new WeakReference<>(element);
+            }
+
+            @Override
+            public void changed(ObservableValue<?> observable, Object oldValue, Object newValue) {
+                list.elementChanged(element.get());
+            }
+        }
+    }
+}
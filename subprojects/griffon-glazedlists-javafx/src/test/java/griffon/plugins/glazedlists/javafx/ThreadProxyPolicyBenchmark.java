@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.TransformedList;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.embed.swing.JFXPanel;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feeds a list at a fixed rate and reports how many events reach the JavaFX application
+ * thread per second, how many source changes each of them merged and how many pulses ran.
+ * <p>
+ * Run with {@code java griffon.plugins.glazedlists.javafx.ThreadProxyPolicyBenchmark [updates/s] [millis]}.
+ */
+public class ThreadProxyPolicyBenchmark {
+    private static final int ROWS = 10_000;
+    private static final int BATCH = 20;
+
+    public static void main(String[] args) throws Exception {
+        int rate = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 5_000L;
+
+        // initializes the JavaFX toolkit
+        new JFXPanel();
+
+        System.out.printf("%-12s %12s %16s %12s%n", "policy", "flushes/s", "changes/flush", "pulses/s");
+        run("immediate", ThreadProxyPolicy.immediate(), rate, millis);
+        run("perPulse", ThreadProxyPolicy.perPulse(), rate, millis);
+
+        Platform.exit();
+    }
+
+    private static void run(String name, ThreadProxyPolicy policy, int rate, long millis) throws Exception {
+        EventList<Integer> source = new BasicEventList<>();
+        for (int i = 0; i < ROWS; i++) {
+            source.add(i);
+        }
+
+        AtomicLong flushes = new AtomicLong();
+        AtomicLong merged = new AtomicLong();
+        TransformedList<Integer, Integer> proxy = GlazedListsJavaFX.createJavaFXThreadProxyList(source, policy.withFlushListener((changes, reset) -> {
+            flushes.incrementAndGet();
+            merged.addAndGet(changes);
+        }));
+
+        AtomicLong pulses = new AtomicLong();
+        AnimationTimer pulseCounter = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                pulses.incrementAndGet();
+            }
+        };
+        Platform.runLater(pulseCounter::start);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread producer = new Thread(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long interval = 1_000_000_000L * BATCH / rate;
+            long next = System.nanoTime();
+            while (running.get()) {
+                for (int i = 0; i < BATCH; i++) {
+                    source.getReadWriteLock().writeLock().lock();
+                    try {
+                        source.set(random.nextInt(ROWS), random.nextInt());
+                    } finally {
+                        source.getReadWriteLock().writeLock().unlock();
+                    }
+                }
+                next += interval;
+                long delay = next - System.nanoTime();
+                if (delay > 0) {
+                    sleep(delay / 1_000_000L);
+                }
+            }
+        }, "producer");
+        producer.start();
+        Thread.sleep(millis);
+        running.set(false);
+        producer.join();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            pulseCounter.stop();
+            proxy.dispose();
+            latch.countDown();
+        });
+        latch.await();
+
+        double seconds = millis / 1_000d;
+        System.out.printf("%-12s %12.1f %16.1f %12.1f%n", name,
+            flushes.get() / seconds,
+            flushes.get() == 0 ? 0d : merged.get() / (double) flushes.get(),
+            pulses.get() / seconds);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
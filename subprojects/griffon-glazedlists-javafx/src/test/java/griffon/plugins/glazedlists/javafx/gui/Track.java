@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package griffon.plugins.glazedlists.javafx.gui;
+
+import griffon.plugins.glazedlists.GenerateTableFormat;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+
+@GenerateTableFormat(columns = {"id", "title", "duration"}, titles = {"#", "Title", "Duration (s)"}, writable = true, fx = true)
+public class Track {
+    private final ReadOnlyStringWrapper id = new ReadOnlyStringWrapper(this, "id");
+    private final StringProperty title = new SimpleStringProperty(this, "title");
+    private final IntegerProperty duration = new SimpleIntegerProperty(this, "duration");
+
+    public Track(String id) {
+        this.id.set(id);
+    }
+
+    public ReadOnlyStringProperty idProperty() {
+        return id.getReadOnlyProperty();
+    }
+
+    public String getId() {
+        return id.get();
+    }
+
+    public StringProperty titleProperty() {
+        return title;
+    }
+
+    public String getTitle() {
+        return title.get();
+    }
+
+    public void setTitle(String title) {
+        this.title.set(title);
+    }
+
+    public IntegerProperty durationProperty() {
+        return duration;
+    }
+
+    public int getDuration() {
+        return duration.get();
+    }
+
+    public void setDuration(int duration) {
+        this.duration.set(duration);
+    }
+}